@@ -208,6 +208,12 @@ dependencies {
 
     // fancy menu compat
     modDependency("fancyMenu", { "maven.modrinth:fancymenu:$it" })
+
+    // unit tests
+    testImplementation(platform("org.junit:junit-bom:${property("deps.junit")}"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testImplementation("org.mockito:mockito-core:${property("deps.mockito")}")
 }
 
 tasks {
@@ -273,6 +279,10 @@ tasks {
         }
     }
 
+    test {
+        useJUnitPlatform()
+    }
+
     register("releaseModVersion") {
         group = "mod"
 
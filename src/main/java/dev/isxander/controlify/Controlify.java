@@ -2,18 +2,20 @@ package dev.isxander.controlify;
 
 import com.mojang.blaze3d.Blaze3D;
 import dev.isxander.controlify.api.ControlifyApi;
-import dev.isxander.controlify.bindings.BindContext;
+import dev.isxander.controlify.bindings.ApplicableBindContexts;
 import dev.isxander.controlify.bindings.ControlifyBindApiImpl;
 import dev.isxander.controlify.bindings.ControlifyBindings;
 import dev.isxander.controlify.bindings.defaults.DefaultBindManager;
 import dev.isxander.controlify.compatibility.ControlifyCompat;
 import dev.isxander.controlify.config.GlobalSettings;
 import dev.isxander.controlify.controller.*;
+import dev.isxander.controlify.controller.haptic.HapticBufferLibrary;
 import dev.isxander.controlify.controller.id.ControllerTypeManager;
 import dev.isxander.controlify.controller.input.ControllerState;
 import dev.isxander.controlify.controller.input.ControllerStateView;
 import dev.isxander.controlify.controller.input.HatState;
 import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.controller.input.InputSlots;
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
 import dev.isxander.controlify.controllermanager.ControllerManager;
 import dev.isxander.controlify.controllermanager.GLFWControllerManager;
@@ -55,7 +57,6 @@ import org.spongepowered.asm.mixin.MixinEnvironment;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 import static dev.isxander.controlify.utils.ControllerUtils.wrapControllerError;
 
@@ -78,7 +79,7 @@ public class Controlify implements ControlifyApi {
     private InputFontMapper inputFontMapper;
     private DefaultBindManager defaultBindManager;
     private ControllerTypeManager controllerTypeManager;
-    private Set<BindContext> thisTickContexts;
+    private final ApplicableBindContexts thisTickContexts = new ApplicableBindContexts();
 
     private ControllerHIDService controllerHIDService;
 
@@ -120,6 +121,7 @@ public class Controlify implements ControlifyApi {
         PlatformClientUtil.registerAssetReloadListener(inputFontMapper);
         PlatformClientUtil.registerAssetReloadListener(defaultBindManager);
         PlatformClientUtil.registerAssetReloadListener(controllerTypeManager);
+        PlatformClientUtil.registerAssetReloadListener(HapticBufferLibrary.INSTANCE);
 
         controllerHIDService = new ControllerHIDService();
         controllerHIDService.start();
@@ -226,6 +228,7 @@ public class Controlify implements ControlifyApi {
 
         // register events
         PlatformClientUtil.registerClientStopping(client -> this.controllerHIDService().stop());
+        PlatformClientUtil.registerClientStopping(client -> this.config().flush());
 
         if (this.config().globalSettings().useEnhancedSteamDeckDriver) {
             doSteamDeckChecks();
@@ -522,9 +525,7 @@ public class Controlify implements ControlifyApi {
 
         boolean outOfFocus = !config().globalSettings().outOfFocusInput && !client.isWindowActive();
 
-        this.thisTickContexts = BindContext.REGISTRY.stream()
-                .filter(ctx -> ctx.isApplicable().apply(minecraft))
-                .collect(Collectors.toUnmodifiableSet());
+        this.thisTickContexts.reset(minecraft);
 
         // handles updating state of all controllers
         controllerManager.tick(outOfFocus);
@@ -554,6 +555,26 @@ public class Controlify implements ControlifyApi {
         });
     }
 
+    /**
+     * Outputs the current controller's rumble and HD haptics between ticks, called every frame.
+     */
+    public void updateRumbleOutput() {
+        getCurrentController().ifPresent(controller -> {
+            // hd haptic audio is mixed as it plays, so is topped up every frame
+            boolean sendOutput = controller.hdHaptics().isPresent();
+
+            if (controller.rumble().isPresent()) {
+                RumbleComponent rumble = controller.rumble().get();
+                rumble.rumbleManager().update();
+                sendOutput |= rumble.hasQueuedRumble();
+            }
+
+            if (sendOutput) {
+                controllerManager.sendOutput(controller);
+            }
+        });
+    }
+
     /**
      * Ticks a specific controller.
      *
@@ -575,10 +596,7 @@ public class Controlify implements ControlifyApi {
             rumbleManager.ifPresent(RumbleManager::tick);
         }
 
-        boolean givingInput = state.getButtons().stream().anyMatch(state::isButtonDown)
-                || state.getAxes().stream().map(state::getAxisState).anyMatch(axis -> Math.abs(axis) > 0.1f)
-                || state.getHats().stream().map(state::getHatState).anyMatch(hat -> hat != HatState.CENTERED);
-        if (givingInput) {
+        if (isGivingInput(state)) {
             //? if >=1.21.2
             minecraft.getFramerateLimitTracker().onInputReceived();
 
@@ -614,6 +632,21 @@ public class Controlify implements ControlifyApi {
         }
     }
 
+    private static boolean isGivingInput(ControllerStateView state) {
+        // by slot rather than iterating the input sets, this runs every tick and shouldn't allocate.
+        // inputs the controller doesn't have read as released, zero and centered
+        for (int slot = 0, count = InputSlots.BUTTONS.size(); slot < count; slot++) {
+            if (state.isButtonDown(slot)) return true;
+        }
+        for (int slot = 0, count = InputSlots.AXES.size(); slot < count; slot++) {
+            if (Math.abs(state.getAxisState(slot)) > 0.1f) return true;
+        }
+        for (int slot = 0, count = InputSlots.HATS.size(); slot < count; slot++) {
+            if (state.getHatState(slot) != HatState.CENTERED) return true;
+        }
+        return false;
+    }
+
     private void probeTick() {
         if (probeMode) {
             if (GLFWControllerManager.areControllersConnected()) {
@@ -768,7 +801,7 @@ public class Controlify implements ControlifyApi {
         return controllerTypeManager;
     }
 
-    public Set<BindContext> thisTickBindContexts() {
+    public ApplicableBindContexts thisTickBindContexts() {
         return this.thisTickContexts;
     }
 
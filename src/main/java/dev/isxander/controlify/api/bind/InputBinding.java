@@ -8,6 +8,7 @@ import dev.isxander.controlify.bindings.output.AnalogueOutput;
 import dev.isxander.controlify.bindings.output.DigitalOutput;
 import dev.isxander.controlify.bindings.output.GuiPressOutput;
 import dev.isxander.controlify.controller.input.ControllerStateView;
+import dev.isxander.controlify.controller.input.InputComponent;
 import dev.isxander.controlify.utils.CUtil;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -85,6 +86,28 @@ public interface InputBinding {
     @ApiStatus.Internal
     void pushState(ControllerStateView state);
 
+    /**
+     * @param inputChanged false if none of the inputs read by {@link #boundInput()}
+     *                     have changed since the last push, so the previous value can be reused
+     */
+    @ApiStatus.Internal
+    default void pushState(ControllerStateView state, boolean inputChanged) {
+        pushState(state);
+    }
+
+    /**
+     * Evaluates the bound input against a state sampled between pushes,
+     * without affecting the history of this binding.
+     * While the binding is suppressed or being faked, this is the same as {@link #analogueNow()}.
+     *
+     * @param state the sampled state, see {@link InputComponent#sampledState()}
+     * @return the analogue state (0-1, never negative)
+     */
+    @ApiStatus.Internal
+    default float analogueSampled(ControllerStateView state) {
+        return this.analogueNow();
+    }
+
     /**
      * Emulates a tap of this binding.
      * This is used by the radial menu.
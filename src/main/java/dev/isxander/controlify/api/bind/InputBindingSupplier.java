@@ -5,8 +5,6 @@ import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Objects;
-
 /**
  * A supplier that retrieves an {@link InputBinding} for a controller.
  */
@@ -19,10 +17,12 @@ public interface InputBindingSupplier {
      * @return the input binding
      */
     default InputBinding on(@NotNull ControllerEntity controller) {
-        return Objects.requireNonNull(
-                onOrNull(controller),
-                () -> "Attempted to fetch " + bindId() + " for controller " + controller.info().uid() + " but it did not exist." +
-                        "The binding registry callback may have a filter that did not pass for this controller.");
+        InputBinding binding = onOrNull(controller);
+        if (binding == null) {
+            throw new NullPointerException("Attempted to fetch " + bindId() + " for controller " + controller.info().uid() + " but it did not exist." +
+                    "The binding registry callback may have a filter that did not pass for this controller.");
+        }
+        return binding;
     }
 
     /**
@@ -37,4 +37,14 @@ public interface InputBindingSupplier {
      * @return id of the binding.
      */
     ResourceLocation bindId();
+
+    /**
+     * The registration slot of the binding. Every controller stores its bindings
+     * indexed by this, so the binding can be fetched without a map lookup.
+     *
+     * @return the slot, or -1 if this supplier is not backed by a registered binding
+     */
+    default int slot() {
+        return -1;
+    }
 }
@@ -45,6 +45,12 @@ public final class ControlifyEvents {
     /**
      * Allows you to modify the look input before it is applied to the player.
      * These modifiers are called before the look input is multiplied by the sensitivity.
+     * The input is always in degrees per tick.
+     * <p>
+     * By default this is invoked once per tick. If the user enables per-frame look input,
+     * it is instead invoked every frame, possibly many times per tick, and each result only turns the camera
+     * for that frame's share of the tick. Modifiers that count calls or keep state between them
+     * must not assume one call per tick.
      */
     public static final EventHandler<LookInputModifier> LOOK_INPUT_MODIFIER = EventHandler.createPlatformBackedEvent();
 
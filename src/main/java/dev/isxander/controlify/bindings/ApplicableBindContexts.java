@@ -0,0 +1,74 @@
+package dev.isxander.controlify.bindings;
+
+import net.minecraft.client.Minecraft;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The {@link BindContext}s applicable this tick, stored as a bitmask indexed by
+ * each context's registry ID.
+ * <p>
+ * Every context is evaluated once at the start of the tick, so all bindings see the same
+ * contexts regardless of when in the tick they ask. Only the first 64 registered contexts
+ * get a bit, any after that are kept in a set instead.
+ */
+public final class ApplicableBindContexts {
+    private long applicable;
+    private final Set<BindContext> applicableUnmasked = new HashSet<>();
+
+    /**
+     * Evaluates every registered context. Called at the start of each tick.
+     */
+    public void reset(Minecraft minecraft) {
+        this.applicable = 0;
+        this.applicableUnmasked.clear();
+
+        for (BindContext context : BindContext.REGISTRY) {
+            if (!context.isApplicable().apply(minecraft))
+                continue;
+
+            int bit = bit(context);
+            if (bit != -1) {
+                this.applicable |= 1L << bit;
+            } else {
+                this.applicableUnmasked.add(context);
+            }
+        }
+    }
+
+    /**
+     * @param mask context bits, from {@link #mask(Collection)}
+     * @return true if any of the contexts in the mask are applicable
+     */
+    public boolean anyApplicable(long mask) {
+        return (this.applicable & mask) != 0;
+    }
+
+    public boolean isApplicable(BindContext context) {
+        int bit = bit(context);
+        return bit != -1 ? anyApplicable(1L << bit) : this.applicableUnmasked.contains(context);
+    }
+
+    /**
+     * @return the bit index of the context, or -1 if it has none
+     */
+    public static int bit(BindContext context) {
+        int id = BindContext.REGISTRY.getId(context);
+        return id >= 0 && id < Long.SIZE ? id : -1;
+    }
+
+    /**
+     * @return the bits of every context that has one
+     */
+    public static long mask(Collection<BindContext> contexts) {
+        long mask = 0;
+        for (BindContext context : contexts) {
+            int bit = bit(context);
+            if (bit != -1)
+                mask |= 1L << bit;
+        }
+        return mask;
+    }
+}
@@ -6,6 +6,7 @@ import dev.isxander.controlify.api.bind.InputBindingSupplier;
 import dev.isxander.controlify.api.bind.RadialIcon;
 import dev.isxander.controlify.bindings.output.KeyMappingEmulationOutput;
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.input.InputComponent;
 import it.unimi.dsi.fastutil.objects.ObjectArraySet;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.core.Registry;
@@ -43,14 +44,16 @@ public class ControlifyBindApiImpl implements ControlifyBindApi {
         Function<ControllerEntity, InputBindingImpl> finaliser = builder::build;
 
         ResourceLocation bindId = builder.getIdAndLock();
+        int slot = this.bindEntries.size();
 
-        this.bindEntries.add(new RegistryEntry(filter, finaliser, builder.getKeyEmulation(), builder.getKeyEmulationToggle(), bindId));
+        this.bindEntries.add(new RegistryEntry(filter, finaliser, builder.getKeyEmulation(), builder.getKeyEmulationToggle(), bindId, slot));
 
+        InputBindingSupplier supplier = new SlotBindingSupplier(bindId, slot);
         for (KeyMapping key : builder.getKeyCorrelations()) {
-            keyMappingCorrelations.computeIfAbsent(key, k -> new ArrayList<>()).add(createSupplier(bindId));
+            keyMappingCorrelations.computeIfAbsent(key, k -> new ArrayList<>()).add(supplier);
         }
 
-        return createSupplier(bindId);
+        return supplier;
     }
 
     @Override
@@ -75,8 +78,13 @@ public class ControlifyBindApiImpl implements ControlifyBindApi {
             throw new IllegalStateException("Registry is locked. Cannot add bind now.");
     }
 
-    public List<InputBinding> provideBindsForController(ControllerEntity controller) {
-        List<InputBinding> bindings = new ArrayList<>();
+    /**
+     * Builds every binding that passes its filter for the controller.
+     *
+     * @return bindings indexed by their registration slot, null where the filter did not pass
+     */
+    public InputBinding[] provideBindsForController(ControllerEntity controller) {
+        InputBinding[] bindings = new InputBinding[bindEntries.size()];
 
         for (RegistryEntry entry : bindEntries) {
             if (!entry.filter().test(controller))
@@ -96,26 +104,12 @@ public class ControlifyBindApiImpl implements ControlifyBindApi {
                 );
             }
 
-            bindings.add(binding);
+            bindings[entry.slot()] = binding;
         }
 
         return bindings;
     }
 
-    private InputBindingSupplier createSupplier(ResourceLocation bindingId) {
-        return new InputBindingSupplier() {
-            @Override
-            public @Nullable InputBinding onOrNull(@NotNull ControllerEntity controller) {
-                return controller.input().map(input -> input.getBinding(bindingId)).orElse(null);
-            }
-
-            @Override
-            public ResourceLocation bindId() {
-                return bindingId;
-            }
-        };
-    }
-
     public void lock() {
         this.locked = true;
     }
@@ -130,6 +124,15 @@ public class ControlifyBindApiImpl implements ControlifyBindApi {
             Function<ControllerEntity, InputBindingImpl> builder,
             KeyMapping emulation,
             Function<ControllerEntity, Boolean> emulationToggle,
-            ResourceLocation id
+            ResourceLocation id,
+            int slot
     ) {}
+
+    private record SlotBindingSupplier(ResourceLocation bindId, int slot) implements InputBindingSupplier {
+        @Override
+        public @Nullable InputBinding onOrNull(@NotNull ControllerEntity controller) {
+            InputComponent input = controller.inputOrNull();
+            return input != null ? input.getBinding(slot) : null;
+        }
+    }
 }
@@ -6,7 +6,8 @@ import dev.isxander.controlify.bindings.input.Input;
 import dev.isxander.controlify.bindings.output.*;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.input.ControllerStateView;
-import dev.isxander.controlify.utils.ResizableRingBuffer;
+import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.utils.ResizableFloatRingBuffer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.Nullable;
@@ -22,9 +23,12 @@ public class InputBindingImpl implements InputBinding {
     private Input boundInput;
     private final Supplier<Input> defaultBindSupplier;
     private final Set<BindContext> contexts;
+    private final long contextMask;
+    // contexts without a bit in ApplicableBindContexts, almost always empty
+    private final BindContext[] unmaskedContexts;
     private final @Nullable ResourceLocation radialIcon;
 
-    private final ResizableRingBuffer<Float> stateHistory;
+    private final ResizableFloatRingBuffer stateHistory;
     private final Set<StateAccessImpl> borrowedAccesses;
 
     private boolean suppressed;
@@ -43,6 +47,14 @@ public class InputBindingImpl implements InputBinding {
 
     private int fakePressState = -1;
 
+    // last evaluated value of the bound input, reused when its inputs have not changed
+    private float inputValue;
+    // edges of the bound input in the latest push
+    private int presses, releases;
+    private boolean inputStale = true;
+    // consecutive pushes that did not change the history or suppression
+    private int unchangedPushes;
+
     public InputBindingImpl(
             ControllerEntity controller,
             ResourceLocation id,
@@ -58,10 +70,14 @@ public class InputBindingImpl implements InputBinding {
         this.name = name;
         this.description = description;
         this.category = category;
-        this.stateHistory = new ResizableRingBuffer<>(2, () -> 0f);
+        this.stateHistory = new ResizableFloatRingBuffer(2);
         this.boundInput = defaultBindSupplier.get();
         this.defaultBindSupplier = defaultBindSupplier;
         this.contexts = contexts;
+        this.contextMask = ApplicableBindContexts.mask(contexts);
+        this.unmaskedContexts = contexts.stream()
+                .filter(ctx -> ApplicableBindContexts.bit(ctx) == -1)
+                .toArray(BindContext[]::new);
         this.radialIcon = radialIcon;
         this.borrowedAccesses = new HashSet<>();
 
@@ -115,6 +131,7 @@ public class InputBindingImpl implements InputBinding {
     public StateAccess createStateAccess(int historyRequired, Consumer<StateAccess> pushEvent) {
         if (historyRequired > this.stateHistory.size()) {
             this.stateHistory.setSize(historyRequired);
+            this.unchangedPushes = 0;
         }
 
         StateAccessImpl access = new StateAccessImpl(historyRequired, pushEvent);
@@ -131,7 +148,8 @@ public class InputBindingImpl implements InputBinding {
 
             if (removed) {
                 OptionalInt newMaxSize = this.borrowedAccesses.stream().mapToInt(StateAccessImpl::maxHistory).max();
-                newMaxSize.ifPresent(this.stateHistory::setSize);
+                newMaxSize.ifPresent(size -> this.stateHistory.setSize(Math.max(1, size)));
+                this.unchangedPushes = 0;
             }
         } else {
             throw new IllegalStateException("Unknown implementation of state access");
@@ -140,14 +158,33 @@ public class InputBindingImpl implements InputBinding {
 
     @Override
     public void pushState(ControllerStateView state) {
+        pushState(state, true);
+    }
+
+    @Override
+    public void pushState(ControllerStateView state, boolean inputChanged) {
+        boolean wasSuppressed = this.suppressed;
         if (!this.contexts.isEmpty()) {
-            Set<BindContext> thisTickContexts = Controlify.instance().thisTickBindContexts();
-            this.suppressed = this.contexts.stream().noneMatch(thisTickContexts::contains);
+            this.suppressed = !isAnyContextApplicable(Controlify.instance().thisTickBindContexts());
         } else {
             this.suppressed = false;
         }
 
-        float analogue = this.boundInput.state(state);
+        int presses = 0, releases = 0;
+        if (inputChanged || this.inputStale) {
+            this.inputValue = this.boundInput.state(state);
+            this.inputStale = false;
+            presses = this.boundInput.presses(state);
+            releases = this.boundInput.releases(state);
+        }
+        float analogue = this.inputValue;
+        boolean faking = fakePressState >= 0;
+        if (faking) {
+            presses = 0;
+            releases = 0;
+        }
+        this.presses = presses;
+        this.releases = releases;
 
         switch (fakePressState) {
             case 0 -> analogue = 0;
@@ -161,10 +198,41 @@ public class InputBindingImpl implements InputBinding {
                 fakePressState++;
         }
 
-        this.stateHistory.push(analogue);
+        boolean historySettled = false;
+        if (!faking && presses == 0 && releases == 0 && suppressed == wasSuppressed && analogue == this.stateHistory.tail()) {
+            // once the whole history holds this value, pushing it again would change nothing.
+            // listeners are still told, they may count pushes rather than watch the state
+            historySettled = this.unchangedPushes >= this.stateHistory.size() - 1;
+            if (!historySettled)
+                this.unchangedPushes++;
+        } else {
+            this.unchangedPushes = 0;
+        }
+
+        if (!historySettled)
+            this.stateHistory.push(analogue);
         borrowedAccesses.forEach(StateAccessImpl::onPush);
     }
 
+    @Override
+    public float analogueSampled(ControllerStateView state) {
+        if (this.suppressed || this.fakePressState >= 0)
+            return this.analogueNow();
+
+        return this.boundInput.state(state);
+    }
+
+    private boolean isAnyContextApplicable(ApplicableBindContexts thisTickContexts) {
+        if (thisTickContexts.anyApplicable(this.contextMask))
+            return true;
+
+        for (BindContext context : this.unmaskedContexts) {
+            if (thisTickContexts.isApplicable(context))
+                return true;
+        }
+        return false;
+    }
+
     @Override
     public void fakePress() {
         fakePressState = 0;
@@ -173,6 +241,8 @@ public class InputBindingImpl implements InputBinding {
     @Override
     public void setBoundInput(Input input) {
         this.boundInput = input;
+        this.inputStale = true;
+        controller.input().ifPresent(InputComponent::invalidateBindingIndex);
         Controlify.instance().config().setDirty();
     }
 
@@ -279,7 +349,19 @@ public class InputBindingImpl implements InputBinding {
 
         @Override
         public boolean digital(int history) {
-            return analogue(history) > controller.input().orElseThrow().confObj().buttonActivationThreshold;
+            return analogue(history) > controller.inputOrNull().confObj().buttonActivationThreshold;
+        }
+
+        @Override
+        public int presses() {
+            if (!valid) throw new IllegalStateException("Tried to access state from returned access!");
+            return InputBindingImpl.this.presses;
+        }
+
+        @Override
+        public int releases() {
+            if (!valid) throw new IllegalStateException("Tried to access state from returned access!");
+            return InputBindingImpl.this.releases;
         }
 
         @Override
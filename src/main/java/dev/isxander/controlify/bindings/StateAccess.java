@@ -5,6 +5,18 @@ public interface StateAccess {
 
     boolean digital(int history);
 
+    /**
+     * @return how many times the binding was pressed in the latest push,
+     *         including presses shorter than a tick that {@link #digital(int)} cannot show
+     */
+    int presses();
+
+    /**
+     * @return how many times the binding was released in the latest push
+     * @see #presses()
+     */
+    int releases();
+
     boolean isSuppressed();
 
     boolean isValid();
@@ -3,6 +3,7 @@ package dev.isxander.controlify.bindings.input;
 import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import dev.isxander.controlify.controller.input.ControllerStateView;
+import dev.isxander.controlify.controller.input.InputSlots;
 import net.minecraft.resources.ResourceLocation;
 
 import java.util.List;
@@ -19,6 +20,18 @@ public record ButtonInput(ResourceLocation button) implements Input {
         return state.isButtonDown(button) ? 1 : 0;
     }
 
+    @Override
+    public int presses(ControllerStateView state) {
+        int slot = InputSlots.BUTTONS.find(button);
+        return slot == InputSlots.NONE ? 0 : state.getButtonPresses(slot);
+    }
+
+    @Override
+    public int releases(ControllerStateView state) {
+        int slot = InputSlots.BUTTONS.find(button);
+        return slot == InputSlots.NONE ? 0 : state.getButtonReleases(slot);
+    }
+
     @Override
     public List<ResourceLocation> getRelevantInputs() {
         return List.of(button);
@@ -13,6 +13,23 @@ public interface Input {
 
     float state(ControllerStateView state);
 
+    /**
+     * @return how many times this input was pressed since the previous state,
+     *         including presses that {@link #state(ControllerStateView)} cannot show
+     * @see ControllerStateView#getButtonPresses(int)
+     */
+    default int presses(ControllerStateView state) {
+        return 0;
+    }
+
+    /**
+     * @return how many times this input was released since the previous state
+     * @see ControllerStateView#getButtonReleases(int)
+     */
+    default int releases(ControllerStateView state) {
+        return 0;
+    }
+
     List<ResourceLocation> getRelevantInputs();
 
     InputType<?> type();
@@ -24,22 +24,24 @@ public class GuiPressOutput implements DigitalOutput {
     private void push() {
         boolean held = stateAccess.digital(0);
         boolean prevHeld = stateAccess.digital(1);
+        // edges also catch a release and press within the same tick, which the history can't show
+        boolean pressed = held && !prevHeld || stateAccess.presses() > 0;
+        boolean released = !held && prevHeld || stateAccess.releases() > 0;
 
         // if just pressed, set state to could press in future
         // if just released:
         //    if it could press in future, set to just released - this is the state where get() == true
         //    if the state is anything else, set the state to off
+        // a release and press in the same tick releases now, and the press is picked up next push
 
-        if (held) {
-            if (!prevHeld) { // just started pressing
+        if (released && pressState == PressState.COULD_PRESS_IN_FUTURE) { // just released
+            pressState = PressState.JUST_RELEASED;
+        } else if (held) {
+            if (pressed || pressState == PressState.JUST_RELEASED) { // just started pressing
                 pressState = PressState.COULD_PRESS_IN_FUTURE;
             }
         } else {
-            if (prevHeld && pressState == PressState.COULD_PRESS_IN_FUTURE) { // just released
-                pressState = PressState.JUST_RELEASED;
-            } else {
-                pressState = PressState.OFF;
-            }
+            pressState = PressState.OFF;
         }
 
         if (stateAccess.isSuppressed())
@@ -15,6 +15,6 @@ public class JustReleasedOutput implements DigitalOutput {
         if (stateAccess.isSuppressed())
             return false;
 
-        return !stateAccess.digital(0) && stateAccess.digital(1);
+        return !stateAccess.digital(0) && stateAccess.digital(1) || stateAccess.releases() > 0;
     }
 }
@@ -26,6 +26,9 @@ public class JustTappedOutput implements DigitalOutput {
         boolean justReleased = stateAccess.digital(0);
         if (!justReleased) return false; // still holding or just started to hold, not just tapped
 
+        // released and pressed again within the same tick, the history only shows it held
+        if (stateAccess.presses() > 0 && stateAccess.releases() > 0) return true;
+
         for (int i = 1; i < maxHoldTime + 2; i++) { // loop through remaining history
             boolean state = stateAccess.digital(i);
             if (!state) { // if we find one that isn't pressed, we know immediately a tap has taken place
@@ -0,0 +1,106 @@
+package dev.isxander.controlify.config;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import dev.isxander.controlify.utils.CUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes snapshots of a config to disk on a background thread.
+ * <p>
+ * A snapshot is only written once {@link #DEBOUNCE_MILLIS} has passed since the first unwritten one was submitted,
+ * so a burst of saves is written once, with the latest snapshot.
+ * The file is written to a temporary file and moved over the config, so the config on disk
+ * is always either the previous one or the new one in full, never a partial write.
+ */
+final class ConfigWriter {
+    private static final long DEBOUNCE_MILLIS = 500;
+
+    private final Path path;
+    private final Path tempPath;
+    private final Gson gson;
+    private final ScheduledExecutorService executor;
+
+    // guarded by this
+    private @Nullable JsonObject pending;
+    // held whilst taking and writing a snapshot, so a flush waits for a write already in progress
+    private final Object writeLock = new Object();
+
+    ConfigWriter(Path path, Gson gson) {
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.gson = gson;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Controlify Config Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param json a tree that is not modified after this, it is serialized later on another thread
+     */
+    synchronized void submit(JsonObject json) {
+        boolean scheduled = pending != null;
+        pending = json;
+
+        if (!scheduled) {
+            executor.schedule(this::writePending, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the latest snapshot now, if it has not been already, and waits for it to be written.
+     */
+    void flush() {
+        writePending();
+    }
+
+    private void writePending() {
+        synchronized (writeLock) {
+            JsonObject json;
+            synchronized (this) {
+                json = pending;
+                pending = null;
+            }
+
+            if (json != null) {
+                write(json);
+            }
+        }
+    }
+
+    private void write(JsonObject json) {
+        try {
+            byte[] bytes = gson.toJson(json).getBytes(StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+
+            try {
+                Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            CUtil.LOGGER.error("Failed to save Controlify config to file!", e);
+        }
+    }
+}
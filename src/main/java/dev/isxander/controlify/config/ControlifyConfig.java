@@ -3,6 +3,8 @@ package dev.isxander.controlify.config;
 import com.google.gson.*;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.input.DeadzoneGroup;
+import dev.isxander.controlify.controller.input.DeadzoneGroupTypeAdapter;
 import dev.isxander.controlify.controller.input.mapping.MappingEntry;
 import dev.isxander.controlify.controller.input.mapping.MappingEntryTypeAdapter;
 import dev.isxander.controlify.controllermanager.ControllerManager;
@@ -13,15 +15,12 @@ import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.Map;
 
 public class ControlifyConfig {
-    public static final Path CONFIG_PATH = PlatformMainUtil.getConfigDir().resolve("controlify.json");
     public static final Gson GSON = new GsonBuilder()
             .serializeNulls()
             .setPrettyPrinting()
@@ -29,9 +28,12 @@ public class ControlifyConfig {
             .registerTypeHierarchyAdapter(Class.class, new TypeAdapters.ClassTypeAdapter())
             .registerTypeHierarchyAdapter(ResourceLocation.class, new ResourceLocation.Serializer())
             .registerTypeAdapter(MappingEntry.class, new MappingEntryTypeAdapter()) // not hierarchy!! otherwise stackoverflow when using default gson record deserializer
+            .registerTypeAdapter(DeadzoneGroup.class, new DeadzoneGroupTypeAdapter())
             .create();
 
     private final Controlify controlify;
+    private final Path configPath;
+    private final ConfigWriter writer;
     // responsible citizens will set dirty so the config can only re-save when needed
     private boolean dirty;
     private boolean firstLaunch;
@@ -43,10 +45,20 @@ public class ControlifyConfig {
     private @NotNull GlobalSettings globalSettings = new GlobalSettings();
 
     public ControlifyConfig(Controlify controlify) {
+        this(controlify, PlatformMainUtil.getConfigDir().resolve("controlify.json"));
+    }
+
+    ControlifyConfig(Controlify controlify, Path configPath) {
         this.controlify = controlify;
+        this.configPath = configPath;
+        this.writer = new ConfigWriter(configPath, GSON);
     }
 
-    public void save() {
+    /**
+     * Takes a snapshot of the config on the calling thread and writes it to disk shortly after, in the background.
+     * Many saves in quick succession are written once.
+     */
+    public synchronized void save() {
         CUtil.LOGGER.info("Saving Controlify config...");
 
         JsonObject serialObject;
@@ -57,17 +69,15 @@ public class ControlifyConfig {
             return;
         }
 
-        try {
-            Files.deleteIfExists(CONFIG_PATH);
-            Files.writeString(
-                    CONFIG_PATH,
-                    GSON.toJson(serialObject),
-                    StandardOpenOption.CREATE_NEW, StandardOpenOption.TRUNCATE_EXISTING
-            );
-            dirty = false;
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to save Controlify config to file!", e);
-        }
+        dirty = false;
+        writer.submit(serialObject);
+    }
+
+    /**
+     * Writes any save that is still waiting to be written, blocking until it is on disk.
+     */
+    public void flush() {
+        writer.flush();
     }
 
     public void saveIfDirty() {
@@ -79,7 +89,7 @@ public class ControlifyConfig {
     public void load() {
         CUtil.LOGGER.info("Loading Controlify config...");
 
-        if (!Files.exists(CONFIG_PATH)) {
+        if (!Files.exists(configPath)) {
             CUtil.LOGGER.info("First launch detected. Creating initial config file!");
             firstLaunch = true;
             save();
@@ -87,7 +97,7 @@ public class ControlifyConfig {
         }
 
         try {
-            applyConfig(GSON.fromJson(Files.readString(CONFIG_PATH), JsonObject.class));
+            applyConfig(GSON.fromJson(Files.readString(configPath), JsonObject.class));
         } catch (Exception e) {
             CUtil.LOGGER.error("Failed to load Controlify config!", e);
         }
@@ -111,7 +121,8 @@ public class ControlifyConfig {
         { // Controller config
             controlify.getControllerManager().ifPresent(this::updateStoredControllerConfig);
             JsonObject controllersObj = new JsonObject();
-            storedControllerConfig.forEach(controllersObj::add);
+            // copied, as stored config is modified on the main thread whilst the snapshot is written
+            storedControllerConfig.forEach((uid, config) -> controllersObj.add(uid, config.deepCopy()));
             obj.add("controllers", controllersObj);
         }
 
@@ -4,6 +4,7 @@ import com.google.common.collect.Lists;
 import com.google.gson.annotations.SerializedName;
 import dev.isxander.controlify.driver.steamdeck.SteamDeckUtil;
 import dev.isxander.controlify.reacharound.ReachAroundMode;
+import dev.isxander.controlify.rumble.RumbleMixLaw;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.client.multiplayer.ServerData;
@@ -23,11 +24,18 @@ public class GlobalSettings {
     @SerializedName("keyboardMovement") public boolean alwaysKeyboardMovement = false;
     public List<String> keyboardMovementWhitelist = new ArrayList<>();
     public boolean outOfFocusInput = false;
+    public boolean eventDrivenInput = false;
+    public int inputPollingRate = 0;
+    public boolean lookInputPerFrame = false;
     public boolean loadVibrationNatives = false;
     public String customVibrationNativesPath = "";
     public boolean vibrationOnboarded = false;
     public ReachAroundMode reachAround = ReachAroundMode.OFF;
     public boolean allowServerRumble = true;
+    public int rumbleOutputRate = 100;
+    public int rumbleVoices = 8;
+    public RumbleMixLaw rumbleMixLaw = RumbleMixLaw.MAX;
+    public int hapticCacheSize = 32;
     public boolean uiSounds = false;
     public boolean notifyLowBattery = true;
     public boolean quietMode = false;
@@ -25,6 +25,7 @@ import dev.isxander.controlify.utils.CUtil;
 import net.minecraft.resources.ResourceLocation;
 import org.apache.commons.lang3.SerializationException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.List;
@@ -33,11 +34,14 @@ import java.util.Optional;
 
 public class ControllerEntity extends ECSEntityImpl {
     private final ControllerInfo info;
-    private final List<Driver> drivers;
+    private final ImmutableList<Driver> drivers;
+
+    // cached outside the component map, bindings are fetched through this many times per tick
+    private @Nullable InputComponent input;
 
     public ControllerEntity(ControllerInfo info, List<Driver> drivers) {
         this.info = info;
-        this.drivers = drivers;
+        this.drivers = ImmutableList.copyOf(drivers);
 
         this.setComponent(new ConfigImpl<>(GenericControllerConfig::new, GenericControllerConfig.class));
 
@@ -67,11 +71,15 @@ public class ControllerEntity extends ECSEntityImpl {
     }
 
     public ImmutableList<Driver> drivers() {
-        return ImmutableList.copyOf(drivers);
+        return drivers;
     }
 
     public Optional<InputComponent> input() {
-        return this.getComponent(InputComponent.ID);
+        return Optional.ofNullable(this.input);
+    }
+
+    public @Nullable InputComponent inputOrNull() {
+        return this.input;
     }
 
     public Optional<RumbleComponent> rumble() {
@@ -126,6 +134,20 @@ public class ControllerEntity extends ECSEntityImpl {
         return this.getComponent(NativeKeyboardComponent.ID);
     }
 
+    @Override
+    public <T extends ECSComponent> boolean setComponent(T component) {
+        if (component instanceof InputComponent inputComponent)
+            this.input = inputComponent;
+        return super.setComponent(component);
+    }
+
+    @Override
+    public boolean removeComponent(ResourceLocation id) {
+        if (InputComponent.ID.equals(id))
+            this.input = null;
+        return super.removeComponent(id);
+    }
+
     public Map<ResourceLocation, IConfig<?>> getAllConfigs() {
         Map<ResourceLocation, IConfig<?>> configs = new HashMap<>();
 
@@ -12,14 +12,48 @@ public class GyroComponent implements ECSComponent, ConfigHolder<GyroComponent.C
     public static final ResourceLocation ID = CUtil.rl("gyro");
 
     private GyroStateC gyroState = GyroStateC.ZERO;
+    private GyroStateC displacement = GyroStateC.ZERO;
+    private float displacementSeconds = 0;
     private final IConfig<Config> config = new ConfigImpl<>(Config::new, Config.class);
 
+    /**
+     * @return angular velocity in radians per second, averaged over the last update where the driver supports it
+     */
     public GyroStateC getState() {
         return this.gyroState;
     }
 
+    /**
+     * @return angular displacement in radians over the last update
+     * @see #getDisplacementSeconds()
+     */
+    public GyroStateC getDisplacement() {
+        return this.displacement;
+    }
+
+    /**
+     * @return the length of time {@link #getDisplacement()} was integrated over, in seconds
+     */
+    public float getDisplacementSeconds() {
+        return this.displacementSeconds;
+    }
+
+    /**
+     * Sets the state from a single velocity sample, assumed to be held for a tick.
+     */
     public void setState(GyroStateC state) {
         this.gyroState = state;
+        this.displacement = new GyroState(state).div(20);
+        this.displacementSeconds = 1 / 20f;
+    }
+
+    /**
+     * Sets the state from the displacement integrated over every sample since the last update.
+     */
+    public void setIntegratedState(GyroStateC displacement, float seconds) {
+        this.gyroState = new GyroState(displacement).div(seconds);
+        this.displacement = new GyroState(displacement);
+        this.displacementSeconds = seconds;
     }
 
     @Override
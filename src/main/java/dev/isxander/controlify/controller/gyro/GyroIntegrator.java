@@ -0,0 +1,101 @@
+package dev.isxander.controlify.controller.gyro;
+
+/**
+ * Integrates every timestamped angular velocity sample reported by a gyroscope
+ * into the angular displacement between reads, rather than sampling the velocity once per read.
+ * <p>
+ * Samples are queued in a preallocated ring. If the ring fills up before it is read,
+ * the oldest samples are integrated early rather than dropped, so no motion is lost.
+ */
+public final class GyroIntegrator {
+    private static final int CAPACITY = 512;
+    private static final int MASK = CAPACITY - 1;
+    /** gaps longer than this are treated as the sensor pausing, not as motion */
+    private static final long MAX_GAP_NANOS = 100_000_000L;
+
+    private final long[] timestamps = new long[CAPACITY];
+    private final float[] pitch = new float[CAPACITY], yaw = new float[CAPACITY], roll = new float[CAPACITY];
+    private int head, size;
+
+    // the last sample integrated, the start point of the next interval
+    private boolean hasLast;
+    private long lastTimestamp;
+    private float lastPitch, lastYaw, lastRoll;
+
+    // integrated early because the ring overflowed
+    private final GyroState pendingDisplacement = new GyroState();
+    private long pendingNanos;
+
+    /**
+     * @param timestampNanos when the sensor took the sample, in nanoseconds
+     * @param pitch angular velocity in radians per second
+     */
+    public void push(long timestampNanos, float pitch, float yaw, float roll) {
+        if (size == CAPACITY) {
+            integrateOldest();
+        }
+
+        int index = (head + size) & MASK;
+        this.timestamps[index] = timestampNanos;
+        this.pitch[index] = pitch;
+        this.yaw[index] = yaw;
+        this.roll[index] = roll;
+        size++;
+    }
+
+    /**
+     * Integrates all samples pushed since the last read.
+     *
+     * @param displacement set to the angular displacement over the interval, in radians
+     * @return the length of the interval in seconds, 0 if no samples were pushed
+     */
+    public float integrate(GyroState displacement) {
+        while (size > 0) {
+            integrateOldest();
+        }
+
+        displacement.set(pendingDisplacement);
+        float seconds = pendingNanos / 1_000_000_000f;
+
+        pendingDisplacement.zero();
+        pendingNanos = 0;
+        return seconds;
+    }
+
+    public void reset() {
+        head = 0;
+        size = 0;
+        hasLast = false;
+        pendingDisplacement.zero();
+        pendingNanos = 0;
+    }
+
+    private void integrateOldest() {
+        int index = head;
+        head = (head + 1) & MASK;
+        size--;
+
+        long timestamp = timestamps[index];
+        float p = pitch[index], y = yaw[index], r = roll[index];
+
+        long dt = timestamp - lastTimestamp;
+        if (hasLast && dt > 0 && dt <= MAX_GAP_NANOS) {
+            // trapezoidal rule between the previous sample and this one
+            float seconds = dt / 1_000_000_000f;
+            pendingDisplacement.add(
+                    (lastPitch + p) * 0.5f * seconds,
+                    (lastYaw + y) * 0.5f * seconds,
+                    (lastRoll + r) * 0.5f * seconds
+            );
+            pendingNanos += dt;
+        }
+
+        if (!hasLast || dt > 0) {
+            hasLast = true;
+            lastTimestamp = timestamp;
+            lastPitch = p;
+            lastYaw = y;
+            lastRoll = r;
+        }
+    }
+}
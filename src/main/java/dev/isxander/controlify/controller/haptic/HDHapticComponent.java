@@ -18,6 +18,7 @@ public class HDHapticComponent implements ECSComponent, ConfigHolder<HDHapticCom
 
     private final IConfig<Config> config = new ConfigImpl<>(Config::new, Config.class);
     private Consumer<HapticBufferLibrary.HapticBuffer> playHapticConsumer;
+    private Consumer<SynthHaptic> playSynthConsumer;
     private final RandomSource randomSource;
 
     public HDHapticComponent() {
@@ -28,7 +29,7 @@ public class HDHapticComponent implements ECSComponent, ConfigHolder<HDHapticCom
         if (!confObj().enabled || playHapticConsumer == null) return;
 
         HapticBufferLibrary.INSTANCE.getHaptic(haptic)
-                .thenAccept(playHapticConsumer);
+                .thenAcceptAsync(playHapticConsumer, Minecraft.getInstance());
     }
 
     public void playHaptic(SoundEvent sound) {
@@ -38,10 +39,20 @@ public class HDHapticComponent implements ECSComponent, ConfigHolder<HDHapticCom
         this.playHaptic(CUtil.rl(location.getNamespace(), "sounds/" + location.getPath() + ".ogg"));
     }
 
+    public void playHaptic(SynthHaptic haptic) {
+        if (!confObj().enabled || playSynthConsumer == null) return;
+
+        playSynthConsumer.accept(haptic);
+    }
+
     public void acceptPlayHaptic(Consumer<HapticBufferLibrary.HapticBuffer> consumer) {
         this.playHapticConsumer = consumer;
     }
 
+    public void acceptPlaySynth(Consumer<SynthHaptic> consumer) {
+        this.playSynthConsumer = consumer;
+    }
+
     @Override
     public IConfig<Config> config() {
         return config;
@@ -1,51 +1,186 @@
 package dev.isxander.controlify.controller.haptic;
 
+import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.driver.sdl.dualsense.DualsenseOggAudioStream;
+import dev.isxander.controlify.platform.client.resource.SimpleControlifyReloadListener;
+import dev.isxander.controlify.utils.CUtil;
 import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.server.packs.resources.ResourceProvider;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import org.jetbrains.annotations.Nullable;
 
 import javax.sound.sampled.AudioFormat;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
-public class HapticBufferLibrary {
-    private final Map<ResourceLocation, CompletableFuture<HapticBuffer>> bufferMap;
-    private final ResourceProvider resources;
+/**
+ * Decodes haptic audio and caches it.
+ * <p>
+ * Every haptic in the {@code haptics} directory of a resource pack is decoded in parallel during resource reload,
+ * so they are ready the first time they play. Any other haptic is decoded the first time it is requested.
+ * The cache is bounded by {@link dev.isxander.controlify.config.GlobalSettings#hapticCacheSize},
+ * evicting the least recently played haptics first.
+ */
+public class HapticBufferLibrary implements SimpleControlifyReloadListener<HapticBufferLibrary.Preparations> {
+    public static final ResourceLocation ID = CUtil.rl("haptics");
+    private static final String DIRECTORY = "haptics";
 
-    public static final HapticBufferLibrary INSTANCE = new HapticBufferLibrary(Minecraft.getInstance().getResourceManager());
+    public static final HapticBufferLibrary INSTANCE = new HapticBufferLibrary();
 
-    private HapticBufferLibrary(ResourceProvider resources) {
-        this.bufferMap = new HashMap<>();
-        this.resources = resources;
-    }
+    // access ordered, so the least recently used is first
+    private final Map<ResourceLocation, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private long hits, misses, evictions;
 
-    public CompletableFuture<HapticBuffer> getHaptic(ResourceLocation haptic) {
-        return bufferMap.computeIfAbsent(haptic, this::createHapticBuffer);
+    private HapticBufferLibrary() {
     }
 
-    private CompletableFuture<HapticBuffer> createHapticBuffer(ResourceLocation haptic) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (InputStream is = resources.open(haptic)) {
-                try (DualsenseOggAudioStream stream = new DualsenseOggAudioStream(is)) {
-                    ByteBuffer audioBuf = stream.readAll();
-                    byte[] audio = new byte[audioBuf.capacity()];
-                    audioBuf.get(audio);
+    public synchronized CompletableFuture<HapticBuffer> getHaptic(ResourceLocation haptic) {
+        Entry entry = entries.get(haptic);
+        if (entry != null) {
+            hits++;
+            return entry.buffer;
+        }
 
-                    return new HapticBuffer(audio, stream.getFormat());
-                }
+        misses++;
+        ResourceManager resources = Minecraft.getInstance().getResourceManager();
+        Entry newEntry = new Entry(CompletableFuture.supplyAsync(() -> {
+            try (InputStream is = resources.open(haptic)) {
+                return decode(is);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
-        }, Util.backgroundExecutor());
+        }, Util.backgroundExecutor()));
+        entries.put(haptic, newEntry);
+        newEntry.buffer.whenComplete((buffer, throwable) -> {
+            if (throwable != null) {
+                CUtil.LOGGER.error("Failed to load haptic {}", haptic, throwable);
+            }
+            onLoaded(haptic, newEntry, buffer);
+        });
+
+        return newEntry.buffer;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), cachedBytes, hits, misses, evictions);
+    }
+
+    private synchronized void onLoaded(ResourceLocation haptic, Entry entry, @Nullable HapticBuffer buffer) {
+        // the library was reloaded whilst this was loading
+        if (entries.get(haptic) != entry)
+            return;
+
+        // failures are kept so a missing haptic is not read again every time it is played
+        entry.bytes = buffer != null ? buffer.audio().length : 0;
+        cachedBytes += entry.bytes;
+        evictToBudget(haptic);
+    }
+
+    /**
+     * Evicts the least recently used haptics until the cache fits the budget.
+     *
+     * @param keep a haptic that is about to be played, never evicted
+     */
+    private void evictToBudget(@Nullable ResourceLocation keep) {
+        long budget = Controlify.instance().config().globalSettings().hapticCacheSize * 1024L * 1024L;
+
+        Iterator<Map.Entry<ResourceLocation, Entry>> iterator = entries.entrySet().iterator();
+        while (cachedBytes > budget && iterator.hasNext()) {
+            Map.Entry<ResourceLocation, Entry> entry = iterator.next();
+            // still loading, so has no size yet
+            if (!entry.getValue().buffer.isDone() || entry.getKey().equals(keep))
+                continue;
+
+            iterator.remove();
+            cachedBytes -= entry.getValue().bytes;
+            evictions++;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Preparations> load(ResourceManager manager, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> manager.listResources(DIRECTORY, location -> location.getPath().endsWith(".ogg")), executor)
+                .thenCompose(resources -> {
+                    List<CompletableFuture<Map.Entry<ResourceLocation, HapticBuffer>>> futures = new ArrayList<>();
+                    for (Map.Entry<ResourceLocation, Resource> resource : resources.entrySet()) {
+                        futures.add(CompletableFuture.supplyAsync(() -> preloadHaptic(resource.getKey(), resource.getValue()), executor));
+                    }
+
+                    return Util.sequence(futures);
+                })
+                .thenApply(haptics -> new Preparations(haptics.stream().filter(Objects::nonNull).toList()));
+    }
+
+    private @Nullable Map.Entry<ResourceLocation, HapticBuffer> preloadHaptic(ResourceLocation location, Resource resource) {
+        try (InputStream is = resource.open()) {
+            return Map.entry(location, decode(is));
+        } catch (Exception e) {
+            CUtil.LOGGER.error("Failed to preload haptic {}", location, e);
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> apply(Preparations data, ResourceManager manager, Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            synchronized (this) {
+                // anything loaded before may have come from a pack that is no longer enabled
+                entries.clear();
+                cachedBytes = 0;
+
+                for (Map.Entry<ResourceLocation, HapticBuffer> haptic : data.haptics()) {
+                    Entry entry = new Entry(CompletableFuture.completedFuture(haptic.getValue()));
+                    entry.bytes = haptic.getValue().audio().length;
+                    entries.put(haptic.getKey(), entry);
+                    cachedBytes += entry.bytes;
+                }
+                evictToBudget(null);
+            }
+        }, executor);
+    }
+
+    @Override
+    public ResourceLocation getReloadId() {
+        return ID;
+    }
+
+    private static HapticBuffer decode(InputStream is) throws IOException {
+        try (DualsenseOggAudioStream stream = new DualsenseOggAudioStream(is)) {
+            ByteBuffer audioBuf = stream.readAll();
+            byte[] audio = new byte[audioBuf.capacity()];
+            audioBuf.get(audio);
+
+            return new HapticBuffer(audio, stream.getFormat());
+        }
     }
 
     public record HapticBuffer(byte[] audio, AudioFormat format) {
     }
 
+    public record Stats(int haptics, long bytes, long hits, long misses, long evictions) {
+    }
+
+    public record Preparations(List<Map.Entry<ResourceLocation, HapticBuffer>> haptics) {
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<HapticBuffer> buffer;
+        private long bytes;
+
+        private Entry(CompletableFuture<HapticBuffer> buffer) {
+            this.buffer = buffer;
+        }
+    }
 }
@@ -5,4 +5,12 @@ import net.minecraft.resources.ResourceLocation;
 
 public final class HapticEffects {
     public static final ResourceLocation NAVIGATE = CUtil.rl("haptics/navigate.ogg");
+
+    public static final SynthHaptic CLICK = SynthHaptic.builder()
+            .layer(SynthHaptic.Waveform.SINE, 160f, SynthHaptic.Envelope.pluck(0.03f), 0.8f)
+            .build();
+    public static final SynthHaptic THUD = SynthHaptic.builder()
+            .sweep(SynthHaptic.Waveform.SINE, 120f, 40f, SynthHaptic.Envelope.pluck(0.12f), 1f)
+            .layer(SynthHaptic.Waveform.NOISE, 0f, SynthHaptic.Envelope.pluck(0.04f), 0.2f)
+            .build();
 }
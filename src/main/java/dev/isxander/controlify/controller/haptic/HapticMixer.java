@@ -0,0 +1,188 @@
+package dev.isxander.controlify.controller.haptic;
+
+import java.util.Arrays;
+
+/**
+ * Mixes synthesised and recorded haptics into a single stream of interleaved float PCM.
+ * <p>
+ * Haptics play in a fixed set of preallocated voices, so playing and rendering never allocates
+ * and the cost of rendering is bounded by the voice count. When every voice is busy, the oldest is cut off.
+ * Rendering is driven by the caller, into any array, so this works the same with or without an audio device.
+ * <p>
+ * This is not thread safe, a mixer should only be used from one thread.
+ */
+public final class HapticMixer {
+    public static final int MAX_VOICES = 32;
+
+    private final int sampleRate;
+    private final int channels;
+    private final int leftChannel, rightChannel;
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private long playCount;
+
+    /**
+     * @param sampleRate sample rate to render at
+     * @param channels number of interleaved channels to render
+     * @param hapticChannel first of the two channels that synthesised haptics play on,
+     *                      recorded haptics already have every channel
+     */
+    public HapticMixer(int sampleRate, int channels, int hapticChannel) {
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.leftChannel = Math.min(hapticChannel, channels - 1);
+        this.rightChannel = Math.min(hapticChannel + 1, channels - 1);
+
+        for (int i = 0; i < voices.length; i++) {
+            voices[i] = new Voice();
+        }
+    }
+
+    public void play(SynthHaptic haptic) {
+        for (SynthHaptic.Layer layer : haptic.layers()) {
+            Voice voice = acquireVoice();
+            voice.layer = layer;
+            voice.noiseState = (int) (playCount * 0x9E3779B9L) | 1;
+        }
+    }
+
+    /**
+     * @param frames interleaved audio at this mixer's sample rate and channel count
+     */
+    public void play(float[] frames) {
+        if (frames.length < channels)
+            return;
+
+        Voice voice = acquireVoice();
+        voice.samples = frames;
+    }
+
+    public boolean isPlaying() {
+        for (Voice voice : voices) {
+            if (voice.isActive())
+                return true;
+        }
+        return false;
+    }
+
+    public void stopAll() {
+        for (Voice voice : voices) {
+            voice.reset();
+        }
+    }
+
+    /**
+     * Renders the next frames of every playing haptic into the start of {@code out}, overwriting it.
+     *
+     * @param out interleaved output, at least {@code frames * channels} long
+     * @param frames number of frames to render
+     */
+    public void render(float[] out, int frames) {
+        int length = frames * channels;
+        Arrays.fill(out, 0, length, 0f);
+
+        for (Voice voice : voices) {
+            if (voice.samples != null) {
+                renderSamples(voice, out, frames);
+            } else if (voice.layer != null) {
+                renderLayer(voice, out, frames);
+            }
+        }
+
+        for (int i = 0; i < length; i++) {
+            out[i] = Math.max(-1f, Math.min(1f, out[i]));
+        }
+    }
+
+    private void renderSamples(Voice voice, float[] out, int frames) {
+        int start = voice.position * channels;
+        int length = Math.min(frames * channels, voice.samples.length - start);
+        for (int i = 0; i < length; i++) {
+            out[i] += voice.samples[start + i];
+        }
+
+        voice.position += length / channels;
+        if (start + length >= voice.samples.length) {
+            voice.reset();
+        }
+    }
+
+    private void renderLayer(Voice voice, float[] out, int frames) {
+        SynthHaptic.Layer layer = voice.layer;
+        SynthHaptic.Envelope envelope = layer.envelope();
+        float duration = envelope.duration();
+        float leftGain = layer.gain() * Math.min(1f, 1f - layer.pan());
+        float rightGain = layer.gain() * Math.min(1f, 1f + layer.pan());
+
+        for (int frame = 0; frame < frames; frame++) {
+            float time = (float) voice.position / sampleRate;
+            if (time >= duration) {
+                voice.reset();
+                return;
+            }
+
+            float sample = oscillate(voice, layer.waveform()) * envelope.amplitudeAt(time);
+            voice.phase += layer.frequencyAt(time) / sampleRate;
+            voice.phase -= Math.floor(voice.phase);
+            voice.position++;
+
+            int index = frame * channels;
+            out[index + leftChannel] += sample * leftGain;
+            if (rightChannel != leftChannel) {
+                out[index + rightChannel] += sample * rightGain;
+            }
+        }
+    }
+
+    private static float oscillate(Voice voice, SynthHaptic.Waveform waveform) {
+        return switch (waveform) {
+            case SINE -> (float) Math.sin(voice.phase * 2 * Math.PI);
+            case SQUARE -> voice.phase < 0.5 ? 1f : -1f;
+            case NOISE -> {
+                // xorshift
+                int x = voice.noiseState;
+                x ^= x << 13;
+                x ^= x >>> 17;
+                x ^= x << 5;
+                voice.noiseState = x;
+                yield x / 2147483648f;
+            }
+        };
+    }
+
+    private Voice acquireVoice() {
+        Voice chosen = null;
+        for (Voice voice : voices) {
+            if (!voice.isActive()) {
+                chosen = voice;
+                break;
+            }
+            if (chosen == null || voice.playIndex < chosen.playIndex) {
+                chosen = voice;
+            }
+        }
+
+        chosen.reset();
+        chosen.playIndex = playCount++;
+        return chosen;
+    }
+
+    private static final class Voice {
+        private SynthHaptic.Layer layer;
+        private float[] samples;
+        private int position;
+        private double phase;
+        private int noiseState;
+        private long playIndex;
+
+        private boolean isActive() {
+            return layer != null || samples != null;
+        }
+
+        private void reset() {
+            layer = null;
+            samples = null;
+            position = 0;
+            phase = 0;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package dev.isxander.controlify.controller.haptic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A haptic generated at play time rather than recorded, made of layers of oscillators.
+ * Each layer sweeps its frequency over its length and is shaped by an ADSR envelope.
+ * <p>
+ * Synthesised haptics are mixed by a {@link HapticMixer}, so any number can play
+ * alongside recorded haptics on the one audio stream of a controller.
+ */
+public final class SynthHaptic {
+    private final Layer[] layers;
+    private final float duration;
+
+    private SynthHaptic(Layer[] layers) {
+        this.layers = layers;
+
+        float duration = 0;
+        for (Layer layer : layers) {
+            duration = Math.max(duration, layer.envelope().duration());
+        }
+        this.duration = duration;
+    }
+
+    public Layer[] layers() {
+        return layers;
+    }
+
+    /**
+     * @return the length of the longest layer, in seconds
+     */
+    public float duration() {
+        return duration;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public enum Waveform {
+        SINE,
+        SQUARE,
+        NOISE,
+    }
+
+    /**
+     * An ADSR envelope, with times in seconds.
+     *
+     * @param sustainTime how long the sustain level is held for, before releasing
+     */
+    public record Envelope(float attack, float decay, float sustain, float sustainTime, float release) {
+        public static Envelope pluck(float decay) {
+            return new Envelope(0.002f, decay, 0f, 0f, 0f);
+        }
+
+        public float duration() {
+            return attack + decay + sustainTime + release;
+        }
+
+        public float amplitudeAt(float time) {
+            if (time < attack)
+                return time / attack;
+            time -= attack;
+            if (time < decay)
+                return 1f - (1f - sustain) * (time / decay);
+            time -= decay;
+            if (time < sustainTime)
+                return sustain;
+            time -= sustainTime;
+            if (time < release)
+                return sustain * (1f - time / release);
+            return 0f;
+        }
+    }
+
+    /**
+     * @param startFrequency frequency at the start of the layer, in Hz, ignored by noise
+     * @param endFrequency frequency at the end of the layer, swept to linearly
+     * @param gain peak amplitude of the layer, 0-1
+     * @param pan balance between the left and right actuators, -1 to 1
+     */
+    public record Layer(Waveform waveform, float startFrequency, float endFrequency, Envelope envelope, float gain, float pan) {
+        public float frequencyAt(float time) {
+            float duration = envelope.duration();
+            float t = duration > 0 ? Math.min(1f, time / duration) : 0f;
+            return startFrequency + (endFrequency - startFrequency) * t;
+        }
+    }
+
+    public static final class Builder {
+        private final List<Layer> layers = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder layer(Waveform waveform, float frequency, Envelope envelope, float gain) {
+            return layer(waveform, frequency, frequency, envelope, gain, 0f);
+        }
+
+        public Builder sweep(Waveform waveform, float startFrequency, float endFrequency, Envelope envelope, float gain) {
+            return layer(waveform, startFrequency, endFrequency, envelope, gain, 0f);
+        }
+
+        public Builder layer(Waveform waveform, float startFrequency, float endFrequency, Envelope envelope, float gain, float pan) {
+            layers.add(new Layer(waveform, startFrequency, endFrequency, envelope, gain, pan));
+            return this;
+        }
+
+        public SynthHaptic build() {
+            if (layers.isEmpty())
+                throw new IllegalStateException("A synthesised haptic needs at least one layer");
+            return new SynthHaptic(layers.toArray(Layer[]::new));
+        }
+    }
+}
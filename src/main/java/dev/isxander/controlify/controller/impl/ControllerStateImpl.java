@@ -2,99 +2,280 @@ package dev.isxander.controlify.controller.impl;
 
 import com.google.common.base.Joiner;
 import dev.isxander.controlify.controller.input.HatState;
+import dev.isxander.controlify.controller.input.InputSlots;
 import dev.isxander.controlify.controller.input.ModifiableControllerState;
-import it.unimi.dsi.fastutil.objects.Object2BooleanArrayMap;
-import it.unimi.dsi.fastutil.objects.Object2FloatArrayMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
 import net.minecraft.resources.ResourceLocation;
 
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
+/**
+ * Controller state stored in flat arrays indexed by {@link InputSlots}.
+ * Buttons are a bitset, axes are floats and hats are stored as {@link HatState} ordinals.
+ * Each input kind also tracks which slots have been written, which backs
+ * {@link #getButtons()}, {@link #getAxes()} and {@link #getHats()}.
+ */
 public class ControllerStateImpl implements ModifiableControllerState {
-    private final Map<ResourceLocation, Boolean> buttons;
-    private final Map<ResourceLocation, Float> axes;
-    private final Map<ResourceLocation, Float> restingAxes;
-    private final Map<ResourceLocation, HatState> hats;
+    private static final HatState[] HAT_STATES = HatState.values();
+
+    private final BitSet buttons;
+    private final BitSet presentButtons;
+    // edges since the previous state, only written by drivers that observe them
+    private int[] buttonPresses, buttonReleases;
+
+    private float[] axes;
+    private float[] restingAxes;
+    private final BitSet presentAxes;
+
+    private byte[] hats;
+    private final BitSet presentHats;
+
+    private final Set<ResourceLocation> buttonSet, axisSet, hatSet;
+
+    private long timestamp;
 
     public ControllerStateImpl() {
-        this.buttons = new Object2BooleanArrayMap<>();
-        this.axes = new Object2FloatArrayMap<>();
-        this.restingAxes = new Object2FloatArrayMap<>();
-        this.hats = new Object2ObjectArrayMap<>();
+        this.buttons = new BitSet(InputSlots.BUTTONS.size());
+        this.presentButtons = new BitSet(InputSlots.BUTTONS.size());
+        this.buttonPresses = new int[InputSlots.BUTTONS.size()];
+        this.buttonReleases = new int[InputSlots.BUTTONS.size()];
+
+        this.axes = new float[InputSlots.AXES.size()];
+        this.restingAxes = new float[InputSlots.AXES.size()];
+        this.presentAxes = new BitSet(InputSlots.AXES.size());
+
+        this.hats = new byte[InputSlots.HATS.size()];
+        this.presentHats = new BitSet(InputSlots.HATS.size());
+
+        this.buttonSet = new SlotSet(presentButtons, InputSlots.BUTTONS);
+        this.axisSet = new SlotSet(presentAxes, InputSlots.AXES);
+        this.hatSet = new SlotSet(presentHats, InputSlots.HATS);
     }
 
     @Override
     public boolean isButtonDown(ResourceLocation button) {
-        return buttons.getOrDefault(button, false);
+        int slot = InputSlots.BUTTONS.find(button);
+        return slot != InputSlots.NONE && buttons.get(slot);
+    }
+
+    @Override
+    public boolean isButtonDown(int buttonSlot) {
+        return buttons.get(buttonSlot);
+    }
+
+    @Override
+    public int getButtonPresses(int buttonSlot) {
+        return buttonSlot < buttonPresses.length ? buttonPresses[buttonSlot] : 0;
+    }
+
+    @Override
+    public int getButtonReleases(int buttonSlot) {
+        return buttonSlot < buttonReleases.length ? buttonReleases[buttonSlot] : 0;
     }
 
     @Override
     public Set<ResourceLocation> getButtons() {
-        return buttons.keySet();
+        return buttonSet;
     }
 
     @Override
     public float getAxisState(ResourceLocation axis) {
-        return axes.getOrDefault(axis, 0f);
+        int slot = InputSlots.AXES.find(axis);
+        return slot == InputSlots.NONE ? 0f : getAxisState(slot);
+    }
+
+    @Override
+    public float getAxisState(int axisSlot) {
+        return axisSlot < axes.length ? axes[axisSlot] : 0f;
     }
 
     @Override
     public Set<ResourceLocation> getAxes() {
-        return axes.keySet();
+        return axisSet;
     }
 
     @Override
     public float getAxisResting(ResourceLocation axis) {
-        return restingAxes.getOrDefault(axis, 0f);
+        int slot = InputSlots.AXES.find(axis);
+        return slot != InputSlots.NONE && slot < restingAxes.length ? restingAxes[slot] : 0f;
     }
 
     @Override
     public HatState getHatState(ResourceLocation hat) {
-        return hats.getOrDefault(hat, HatState.CENTERED);
+        int slot = InputSlots.HATS.find(hat);
+        return slot == InputSlots.NONE ? HatState.CENTERED : getHatState(slot);
+    }
+
+    @Override
+    public HatState getHatState(int hatSlot) {
+        // CENTERED is ordinal 0, so unwritten slots are centered
+        return hatSlot < hats.length ? HAT_STATES[hats[hatSlot]] : HatState.CENTERED;
     }
 
     @Override
     public Set<ResourceLocation> getHats() {
-        return hats.keySet();
+        return hatSet;
     }
 
     @Override
     public void setButton(ResourceLocation button, boolean value) {
-        buttons.put(button, value);
+        setButton(InputSlots.BUTTONS.slot(button), value);
+    }
+
+    @Override
+    public void setButton(int buttonSlot, boolean value) {
+        buttons.set(buttonSlot, value);
+        presentButtons.set(buttonSlot);
+    }
+
+    @Override
+    public void setButtonEdges(int buttonSlot, int presses, int releases) {
+        if (buttonSlot >= buttonPresses.length) {
+            int newLength = Math.max(buttonSlot + 1, InputSlots.BUTTONS.size());
+            buttonPresses = Arrays.copyOf(buttonPresses, newLength);
+            buttonReleases = Arrays.copyOf(buttonReleases, newLength);
+        }
+        buttonPresses[buttonSlot] = presses;
+        buttonReleases[buttonSlot] = releases;
     }
 
     @Override
     public void setAxis(ResourceLocation axis, float value) {
-        axes.put(axis, value);
+        setAxis(InputSlots.AXES.slot(axis), value);
+    }
+
+    @Override
+    public void setAxis(int axisSlot, float value) {
+        ensureAxisCapacity(axisSlot);
+        axes[axisSlot] = value;
+        presentAxes.set(axisSlot);
     }
 
     public void setRestingAxis(ResourceLocation axis, float value) {
-        if (!axes.containsKey(axis))
+        int slot = InputSlots.AXES.find(axis);
+        if (slot == InputSlots.NONE || !presentAxes.get(slot))
             throw new IllegalArgumentException("Cannot set resting axis for axis that doesn't exist");
 
-        restingAxes.put(axis, value);
+        restingAxes[slot] = value;
     }
 
     @Override
     public void setHat(ResourceLocation hat, HatState value) {
-        hats.put(hat, value);
+        setHat(InputSlots.HATS.slot(hat), value);
+    }
+
+    @Override
+    public void setHat(int hatSlot, HatState value) {
+        if (hatSlot >= hats.length) {
+            hats = Arrays.copyOf(hats, Math.max(hatSlot + 1, InputSlots.HATS.size()));
+        }
+        hats[hatSlot] = (byte) value.ordinal();
+        presentHats.set(hatSlot);
     }
 
     @Override
     public void clearState() {
         this.buttons.clear();
-        this.axes.clear();
-        this.restingAxes.clear();
-        this.hats.clear();
+        this.presentButtons.clear();
+        Arrays.fill(this.buttonPresses, 0);
+        Arrays.fill(this.buttonReleases, 0);
+        Arrays.fill(this.axes, 0f);
+        Arrays.fill(this.restingAxes, 0f);
+        this.presentAxes.clear();
+        Arrays.fill(this.hats, (byte) 0);
+        this.presentHats.clear();
+        this.timestamp = 0;
+    }
+
+    @Override
+    public void setTimestamp(long nanos) {
+        this.timestamp = nanos;
+    }
+
+    /**
+     * @return when the driver read this state, 0 if it didn't say
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    private void ensureAxisCapacity(int axisSlot) {
+        if (axisSlot >= axes.length) {
+            int newLength = Math.max(axisSlot + 1, InputSlots.AXES.size());
+            axes = Arrays.copyOf(axes, newLength);
+            restingAxes = Arrays.copyOf(restingAxes, newLength);
+        }
     }
 
     public String toDebugString() {
         Joiner.MapJoiner joiner = Joiner.on(",").withKeyValueSeparator("=");
+
+        Map<ResourceLocation, Object> axisMap = new LinkedHashMap<>();
+        getAxes().forEach(axis -> axisMap.put(axis, getAxisState(axis)));
+        Map<ResourceLocation, Object> buttonMap = new LinkedHashMap<>();
+        getButtons().forEach(button -> buttonMap.put(button, isButtonDown(button)));
+        Map<ResourceLocation, Object> hatMap = new LinkedHashMap<>();
+        getHats().forEach(hat -> hatMap.put(hat, getHatState(hat)));
+
         return "ControllerState{axes:%s,buttons:%s,hats:%s}".formatted(
-                joiner.join(axes),
-                joiner.join(buttons),
-                joiner.join(hats)
+                joiner.join(axisMap),
+                joiner.join(buttonMap),
+                joiner.join(hatMap)
         );
     }
+
+    /**
+     * A read-only view of the slots that have been written to, resolved back into IDs.
+     */
+    private static class SlotSet extends AbstractSet<ResourceLocation> {
+        private final BitSet present;
+        private final InputSlots slots;
+
+        private SlotSet(BitSet present, InputSlots slots) {
+            this.present = present;
+            this.slots = slots;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof ResourceLocation id))
+                return false;
+
+            int slot = slots.find(id);
+            return slot != InputSlots.NONE && present.get(slot);
+        }
+
+        @Override
+        public Iterator<ResourceLocation> iterator() {
+            return new Iterator<>() {
+                private int next = present.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public ResourceLocation next() {
+                    if (next < 0)
+                        throw new NoSuchElementException();
+
+                    ResourceLocation id = slots.id(next);
+                    next = present.nextSetBit(next + 1);
+                    return id;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return present.cardinality();
+        }
+    }
 }
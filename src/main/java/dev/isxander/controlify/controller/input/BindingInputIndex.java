@@ -0,0 +1,109 @@
+package dev.isxander.controlify.controller.input;
+
+import dev.isxander.controlify.api.bind.InputBinding;
+import dev.isxander.controlify.bindings.input.AxisInput;
+import dev.isxander.controlify.bindings.input.ButtonInput;
+import dev.isxander.controlify.bindings.input.EmptyInput;
+import dev.isxander.controlify.bindings.input.HatInput;
+import dev.isxander.controlify.bindings.input.Input;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
+import java.util.BitSet;
+
+/**
+ * Reverse index from input slots to the bindings (by registration slot) whose bound input reads them.
+ * Used to only re-evaluate the bindings whose inputs actually changed since the last push.
+ */
+final class BindingInputIndex {
+    private static final int[] NO_BINDINGS = new int[0];
+
+    private final int[][] byButton, byAxis, byHat;
+    /** bindings whose input cannot be indexed, these are evaluated every push */
+    private final int[] unindexed;
+
+    private BindingInputIndex(int[][] byButton, int[][] byAxis, int[][] byHat, int[] unindexed) {
+        this.byButton = byButton;
+        this.byAxis = byAxis;
+        this.byHat = byHat;
+        this.unindexed = unindexed;
+    }
+
+    static BindingInputIndex build(InputBinding[] bindings) {
+        IntList[] byButton = new IntList[0], byAxis = new IntList[0], byHat = new IntList[0];
+        IntList unindexed = new IntArrayList();
+
+        for (int i = 0; i < bindings.length; i++) {
+            InputBinding binding = bindings[i];
+            if (binding == null)
+                continue;
+
+            Input input = binding.boundInput();
+            if (input instanceof ButtonInput button) {
+                byButton = add(byButton, InputSlots.BUTTONS.slot(button.button()), i);
+            } else if (input instanceof AxisInput axis) {
+                byAxis = add(byAxis, InputSlots.AXES.slot(axis.axis()), i);
+            } else if (input instanceof HatInput hat) {
+                byHat = add(byHat, InputSlots.HATS.slot(hat.hat()), i);
+            } else if (!(input instanceof EmptyInput)) {
+                unindexed.add(i);
+            }
+        }
+
+        return new BindingInputIndex(flatten(byButton), flatten(byAxis), flatten(byHat), unindexed.toIntArray());
+    }
+
+    /**
+     * Marks every binding whose input differs between the two states.
+     *
+     * @param now the state about to be pushed to the bindings
+     * @param then the state that was last pushed to the bindings
+     * @param out set of binding slots to write into, cleared first
+     */
+    void collectAffected(ControllerStateView now, ControllerStateView then, BitSet out) {
+        out.clear();
+
+        for (int slot = 0; slot < byButton.length; slot++) {
+            if (byButton[slot].length > 0 && (now.isButtonDown(slot) != then.isButtonDown(slot)
+                    || now.getButtonPresses(slot) != 0 || now.getButtonReleases(slot) != 0))
+                mark(byButton[slot], out);
+        }
+        for (int slot = 0; slot < byAxis.length; slot++) {
+            if (byAxis[slot].length > 0 && now.getAxisState(slot) != then.getAxisState(slot))
+                mark(byAxis[slot], out);
+        }
+        for (int slot = 0; slot < byHat.length; slot++) {
+            if (byHat[slot].length > 0 && now.getHatState(slot) != then.getHatState(slot))
+                mark(byHat[slot], out);
+        }
+
+        mark(unindexed, out);
+    }
+
+    private static void mark(int[] bindings, BitSet out) {
+        for (int binding : bindings) {
+            out.set(binding);
+        }
+    }
+
+    private static IntList[] add(IntList[] lists, int slot, int binding) {
+        if (slot >= lists.length) {
+            IntList[] grown = new IntList[slot + 1];
+            System.arraycopy(lists, 0, grown, 0, lists.length);
+            lists = grown;
+        }
+        if (lists[slot] == null)
+            lists[slot] = new IntArrayList();
+
+        lists[slot].add(binding);
+        return lists;
+    }
+
+    private static int[][] flatten(IntList[] lists) {
+        int[][] flat = new int[lists.length][];
+        for (int i = 0; i < lists.length; i++) {
+            flat[i] = lists[i] != null ? lists[i].toIntArray() : NO_BINDINGS;
+        }
+        return flat;
+    }
+}
@@ -0,0 +1,81 @@
+package dev.isxander.controlify.controller.input;
+
+/**
+ * Counts every press and release of a driver's buttons between updates, from however
+ * many times the driver observes them (events, fast polling, per-frame samples),
+ * so presses shorter than a tick are still reported.
+ * <p>
+ * A button pressed and released again before an update is reported as held for that update,
+ * and its release is deferred to the next, so the reported state and edge counts always agree.
+ */
+public final class ButtonEdgeTracker {
+    private final boolean[] down;
+    private final int[] presses, releases;
+    private final boolean[] releaseDeferred;
+
+    public ButtonEdgeTracker(int buttonCount) {
+        this.down = new boolean[buttonCount];
+        this.presses = new int[buttonCount];
+        this.releases = new int[buttonCount];
+        this.releaseDeferred = new boolean[buttonCount];
+    }
+
+    /**
+     * Records the latest state of a button, counting an edge if it changed since last observed.
+     */
+    public void observe(int button, boolean down) {
+        if (down != this.down[button]) {
+            if (down) this.presses[button]++;
+            else this.releases[button]++;
+            this.down[button] = down;
+        }
+    }
+
+    /**
+     * Records edges that were counted elsewhere, such as on a polling thread,
+     * starting from the last observed state of the button.
+     */
+    public void observe(int button, int presses, int releases, boolean down) {
+        this.presses[button] += presses;
+        this.releases[button] += releases;
+        this.down[button] = down;
+    }
+
+    /**
+     * @return the last observed state of the button, without any deferred release
+     */
+    public boolean isDown(int button) {
+        return this.down[button];
+    }
+
+    /**
+     * Writes the state of a button, and its edges since the last write, then resets the edges.
+     *
+     * @param state state to write into
+     * @param slot input slot of the button in the state
+     * @param button index of the button in this tracker
+     */
+    public void write(ModifiableControllerState state, int slot, int button) {
+        boolean down = this.down[button];
+        int presses = this.presses[button];
+        int releases = this.releases[button];
+
+        // the last write reported the button held after it had already been released
+        if (this.releaseDeferred[button])
+            releases++;
+
+        // pressed and released since the last write, hold it for this one so it isn't missed
+        boolean deferRelease = !down && presses > 0;
+        if (deferRelease) {
+            down = true;
+            releases--;
+        }
+        this.releaseDeferred[button] = deferRelease;
+
+        state.setButton(slot, down);
+        state.setButtonEdges(slot, presses, releases);
+
+        this.presses[button] = 0;
+        this.releases[button] = 0;
+    }
+}
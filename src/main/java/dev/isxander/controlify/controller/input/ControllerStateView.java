@@ -16,4 +16,47 @@ public interface ControllerStateView {
 
     HatState getHatState(ResourceLocation hat);
     Set<ResourceLocation> getHats();
+
+    /**
+     * Fast-path equivalent of {@link #isButtonDown(ResourceLocation)}.
+     * @param buttonSlot slot from {@link InputSlots#BUTTONS}
+     */
+    default boolean isButtonDown(int buttonSlot) {
+        return isButtonDown(InputSlots.BUTTONS.id(buttonSlot));
+    }
+
+    /**
+     * Fast-path equivalent of {@link #getAxisState(ResourceLocation)}.
+     * @param axisSlot slot from {@link InputSlots#AXES}
+     */
+    default float getAxisState(int axisSlot) {
+        return getAxisState(InputSlots.AXES.id(axisSlot));
+    }
+
+    /**
+     * Fast-path equivalent of {@link #getHatState(ResourceLocation)}.
+     * @param hatSlot slot from {@link InputSlots#HATS}
+     */
+    default HatState getHatState(int hatSlot) {
+        return getHatState(InputSlots.HATS.id(hatSlot));
+    }
+
+    /**
+     * How many times the button was pressed since the previous state.
+     * This includes presses that cannot be seen by comparing the two states,
+     * such as releasing and pressing the button again in between them.
+     * @param buttonSlot slot from {@link InputSlots#BUTTONS}
+     */
+    default int getButtonPresses(int buttonSlot) {
+        return 0;
+    }
+
+    /**
+     * How many times the button was released since the previous state.
+     * @param buttonSlot slot from {@link InputSlots#BUTTONS}
+     * @see #getButtonPresses(int)
+     */
+    default int getButtonReleases(int buttonSlot) {
+        return 0;
+    }
 }
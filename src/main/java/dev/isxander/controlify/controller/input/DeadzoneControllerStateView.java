@@ -1,18 +1,42 @@
 package dev.isxander.controlify.controller.input;
 
-import dev.isxander.controlify.utils.ControllerUtils;
 import net.minecraft.resources.ResourceLocation;
 
-import java.util.Optional;
 import java.util.Set;
 
+/**
+ * A view of a raw state with deadzones applied to its axes.
+ * Deadzoned axis values are computed once when the state is pushed
+ * (see {@link DeadzoneTable}), so reads are a single array load.
+ */
 public class DeadzoneControllerStateView implements ControllerStateView {
-    private final ControllerStateView view;
-    private final InputComponent input;
+    private ControllerStateView view;
+    private float[] axes;
 
-    public DeadzoneControllerStateView(ControllerStateView view, InputComponent input) {
+    public DeadzoneControllerStateView(ControllerStateView view) {
         this.view = view;
-        this.input = input;
+        this.axes = new float[0];
+    }
+
+    /**
+     * Points this view at a new raw state, applying the deadzone table to it.
+     */
+    void update(ControllerStateView view, DeadzoneTable deadzones) {
+        this.view = view;
+        this.axes = deadzones.apply(view, this.axes);
+    }
+
+    /**
+     * Swaps the contents of two views, so the previous state can be
+     * rotated without recomputing or reallocating.
+     */
+    static void swap(DeadzoneControllerStateView a, DeadzoneControllerStateView b) {
+        ControllerStateView view = a.view;
+        float[] axes = a.axes;
+        a.view = b.view;
+        a.axes = b.axes;
+        b.view = view;
+        b.axes = axes;
     }
 
     @Override
@@ -20,6 +44,21 @@ public class DeadzoneControllerStateView implements ControllerStateView {
         return view.isButtonDown(button);
     }
 
+    @Override
+    public boolean isButtonDown(int buttonSlot) {
+        return view.isButtonDown(buttonSlot);
+    }
+
+    @Override
+    public int getButtonPresses(int buttonSlot) {
+        return view.getButtonPresses(buttonSlot);
+    }
+
+    @Override
+    public int getButtonReleases(int buttonSlot) {
+        return view.getButtonReleases(buttonSlot);
+    }
+
     @Override
     public Set<ResourceLocation> getButtons() {
         return view.getButtons();
@@ -27,11 +66,13 @@ public class DeadzoneControllerStateView implements ControllerStateView {
 
     @Override
     public float getAxisState(ResourceLocation axis) {
-        float rawAxis = view.getAxisState(axis);
-        Optional<ResourceLocation> deadzoneId = input.getDeadzoneForAxis(axis);
-        float deadzone = deadzoneId.map(id -> input.confObj().deadzones.get(id)).orElse(0f);
+        int slot = InputSlots.AXES.find(axis);
+        return slot == InputSlots.NONE ? 0f : getAxisState(slot);
+    }
 
-        return ControllerUtils.deadzone(rawAxis, deadzone);
+    @Override
+    public float getAxisState(int axisSlot) {
+        return axisSlot < axes.length ? axes[axisSlot] : 0f;
     }
 
     @Override
@@ -49,6 +90,11 @@ public class DeadzoneControllerStateView implements ControllerStateView {
         return view.getHatState(hat);
     }
 
+    @Override
+    public HatState getHatState(int hatSlot) {
+        return view.getHatState(hatSlot);
+    }
+
     @Override
     public Set<ResourceLocation> getHats() {
         return view.getHats();
@@ -4,8 +4,47 @@ import net.minecraft.resources.ResourceLocation;
 
 import java.util.List;
 
+/**
+ * @param stick whether this is a two-dimensional stick, in which case {@code axes}
+ *              are exactly its up, down, left and right axes, in that order
+ */
 public record DeadzoneGroup(
         ResourceLocation name,
-        List<ResourceLocation> axes
+        List<ResourceLocation> axes,
+        boolean stick
 ) {
+    public DeadzoneGroup {
+        if (stick && axes.size() != 4)
+            throw new IllegalArgumentException("Stick deadzone group " + name + " must have 4 axes, has " + axes.size());
+    }
+
+    public DeadzoneGroup(ResourceLocation name, List<ResourceLocation> axes) {
+        this(name, axes, false);
+    }
+
+    public static DeadzoneGroup stick(ResourceLocation name, ResourceLocation up, ResourceLocation down, ResourceLocation left, ResourceLocation right) {
+        return new DeadzoneGroup(name, List.of(up, down, left, right), true);
+    }
+
+    public ResourceLocation up() {
+        return stickAxis(0);
+    }
+
+    public ResourceLocation down() {
+        return stickAxis(1);
+    }
+
+    public ResourceLocation left() {
+        return stickAxis(2);
+    }
+
+    public ResourceLocation right() {
+        return stickAxis(3);
+    }
+
+    private ResourceLocation stickAxis(int index) {
+        if (!stick)
+            throw new IllegalStateException("Deadzone group " + name + " is not a stick");
+        return axes.get(index);
+    }
 }
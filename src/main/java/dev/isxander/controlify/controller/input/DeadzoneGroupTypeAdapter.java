@@ -0,0 +1,28 @@
+package dev.isxander.controlify.controller.input;
+
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Mappings saved before deadzone groups said whether they were a stick don't have the field,
+ * back then every group of four axes was treated as a stick, so that is what it defaults to.
+ */
+public class DeadzoneGroupTypeAdapter implements JsonDeserializer<DeadzoneGroup> {
+    @Override
+    public DeadzoneGroup deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+        SerializedGroup group = context.deserialize(json, SerializedGroup.class);
+
+        boolean stick = group.stick() != null ? group.stick() : group.axes().size() == 4;
+        return new DeadzoneGroup(group.name(), group.axes(), stick);
+    }
+
+    private record SerializedGroup(ResourceLocation name, List<ResourceLocation> axes, @Nullable Boolean stick) {
+    }
+}
@@ -0,0 +1,136 @@
+package dev.isxander.controlify.controller.input;
+
+import dev.isxander.controlify.utils.CUtil;
+import dev.isxander.controlify.utils.ControllerUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Deadzone groups and their configured radii, flattened into arrays indexed by axis slot.
+ * Compiled whenever the deadzone config or controller mapping changes, then applied
+ * to each pushed state once, rather than resolving the deadzone on every axis read.
+ */
+public final class DeadzoneTable {
+    public static final DeadzoneTable EMPTY = new DeadzoneTable(new float[0], new int[0], new float[0]);
+
+    /** per axis slot, 0 for no deadzone */
+    private final float[] axialDeadzones;
+    /** up, down, left, right axis slots for each radially-handled stick */
+    private final int[] radialAxes;
+    private final float[] radialDeadzones;
+
+    private DeadzoneTable(float[] axialDeadzones, int[] radialAxes, float[] radialDeadzones) {
+        this.axialDeadzones = axialDeadzones;
+        this.radialAxes = radialAxes;
+        this.radialDeadzones = radialDeadzones;
+    }
+
+    /**
+     * Each axis takes the deadzone of the first group containing it.
+     *
+     * @param groups the deadzone groups of the controller, in precedence order
+     * @param deadzones configured deadzone radius of each group
+     * @param radial whether {@linkplain DeadzoneGroup#stick() stick} groups should use a circular
+     *               deadzone over the stick's magnitude, rather than a separate deadzone on each axis.
+     *               A stick sharing an axis with an earlier group falls back to separate deadzones.
+     */
+    public static DeadzoneTable compile(Collection<DeadzoneGroup> groups, Map<ResourceLocation, Float> deadzones, boolean radial) {
+        float[] axial = new float[InputSlots.AXES.size()];
+        IntList radialAxes = new IntArrayList();
+        float[] radialDeadzones = new float[groups.size()];
+        int radialCount = 0;
+        BitSet claimed = new BitSet();
+
+        for (DeadzoneGroup group : groups) {
+            Float configured = deadzones.get(group.name());
+            float deadzone = configured != null ? configured : 0f;
+
+            if (radial && group.stick()) {
+                int up = InputSlots.AXES.slot(group.up());
+                int down = InputSlots.AXES.slot(group.down());
+                int left = InputSlots.AXES.slot(group.left());
+                int right = InputSlots.AXES.slot(group.right());
+
+                if (!claimed.get(up) && !claimed.get(down) && !claimed.get(left) && !claimed.get(right)) {
+                    claimed.set(up);
+                    claimed.set(down);
+                    claimed.set(left);
+                    claimed.set(right);
+
+                    if (deadzone > 0f) {
+                        radialAxes.add(up);
+                        radialAxes.add(down);
+                        radialAxes.add(left);
+                        radialAxes.add(right);
+                        radialDeadzones[radialCount++] = deadzone;
+                    }
+                    continue;
+                }
+            }
+
+            for (ResourceLocation axis : group.axes()) {
+                int slot = InputSlots.AXES.slot(axis);
+                if (claimed.get(slot))
+                    continue;
+                claimed.set(slot);
+
+                if (deadzone <= 0f)
+                    continue;
+                if (slot >= axial.length) {
+                    axial = Arrays.copyOf(axial, InputSlots.AXES.size());
+                }
+                axial[slot] = deadzone;
+            }
+        }
+
+        return new DeadzoneTable(axial, radialAxes.toIntArray(), Arrays.copyOf(radialDeadzones, radialCount));
+    }
+
+    /**
+     * Applies the deadzones to every axis in the state.
+     *
+     * @param state the raw state
+     * @param out array to write deadzoned axis values into, indexed by slot
+     * @return {@code out}, or a larger replacement if it was too small to hold every axis slot
+     */
+    public float[] apply(ControllerStateView state, float[] out) {
+        int axisCount = InputSlots.AXES.size();
+        if (out.length < axisCount) {
+            out = new float[axisCount];
+        }
+
+        for (int slot = 0; slot < axisCount; slot++) {
+            float value = state.getAxisState(slot);
+            float deadzone = slot < axialDeadzones.length ? axialDeadzones[slot] : 0f;
+            out[slot] = deadzone > 0f ? ControllerUtils.deadzone(value, deadzone) : value;
+        }
+
+        for (int i = 0; i < radialDeadzones.length; i++) {
+            int up = radialAxes[i * 4], down = radialAxes[i * 4 + 1], left = radialAxes[i * 4 + 2], right = radialAxes[i * 4 + 3];
+
+            float x = state.getAxisState(right) - state.getAxisState(left);
+            float y = state.getAxisState(down) - state.getAxisState(up);
+            float magnitude = Mth.sqrt(x * x + y * y);
+
+            float scale = magnitude > radialDeadzones[i]
+                    ? ControllerUtils.deadzone(magnitude, radialDeadzones[i]) / magnitude
+                    : 0f;
+            x *= scale;
+            y *= scale;
+
+            out[up] = CUtil.negativeAxis(y);
+            out[down] = CUtil.positiveAxis(y);
+            out[left] = CUtil.negativeAxis(x);
+            out[right] = CUtil.positiveAxis(x);
+        }
+
+        return out;
+    }
+}
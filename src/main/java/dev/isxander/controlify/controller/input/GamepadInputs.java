@@ -65,18 +65,20 @@ public final class GamepadInputs {
     public static final ResourceLocation TOUCHPAD_2_BUTTON = button("touchpad_2");
 
     public static final Set<DeadzoneGroup> DEADZONE_GROUPS = Sets.newLinkedHashSet(List.of(
-            new DeadzoneGroup(CUtil.rl("left_stick"), List.of(
+            DeadzoneGroup.stick(
+                    CUtil.rl("left_stick"),
                     LEFT_STICK_AXIS_UP,
                     LEFT_STICK_AXIS_DOWN,
                     LEFT_STICK_AXIS_LEFT,
                     LEFT_STICK_AXIS_RIGHT
-            )),
-            new DeadzoneGroup(CUtil.rl("right_stick"), List.of(
+            ),
+            DeadzoneGroup.stick(
+                    CUtil.rl("right_stick"),
                     RIGHT_STICK_AXIS_UP,
                     RIGHT_STICK_AXIS_DOWN,
                     RIGHT_STICK_AXIS_LEFT,
                     RIGHT_STICK_AXIS_RIGHT
-            ))
+            )
     ));
 
     public static Input getBind(ResourceLocation id) {
@@ -89,12 +91,12 @@ public final class GamepadInputs {
     }
 
     private static ResourceLocation button(String id) {
-        return CUtil.rl("button/" + id);
+        return InputSlots.BUTTONS.register(CUtil.rl("button/" + id));
     }
     private static ResourceLocation axis(String id) {
-        return CUtil.rl("axis/" + id);
+        return InputSlots.AXES.register(CUtil.rl("axis/" + id));
     }
     private static ResourceLocation hat(String id) {
-        return CUtil.rl("hat/" + id);
+        return InputSlots.HATS.register(CUtil.rl("hat/" + id));
     }
 }
@@ -13,9 +13,12 @@ import dev.isxander.controlify.controller.serialization.ConfigClass;
 import dev.isxander.controlify.controller.serialization.ConfigHolder;
 import dev.isxander.controlify.controller.serialization.CustomSaveLoadConfig;
 import dev.isxander.controlify.controller.serialization.IConfig;
+import dev.isxander.controlify.controller.input.mapping.CompiledMapping;
 import dev.isxander.controlify.controller.input.mapping.ControllerMapping;
 import dev.isxander.controlify.controller.impl.ConfigImpl;
+import dev.isxander.controlify.controller.impl.ControllerStateImpl;
 import dev.isxander.controlify.controller.input.mapping.ControllerMappingStorage;
+import dev.isxander.controlify.debug.InputLatency;
 import dev.isxander.controlify.gui.screen.RadialMenuScreen;
 import dev.isxander.controlify.utils.CUtil;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -31,16 +34,40 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
 
     private final ControllerEntity controller;
 
-    private ControllerState
-            stateNow = ControllerState.EMPTY,
-            stateThen = ControllerState.EMPTY;
-    private DeadzoneControllerStateView deadzoneStateNow, deadzoneStateThen;
+    // drivers write into backState, which is rotated into stateNow on push.
+    // mappedState is only used when a mapping is active, as the mapping target.
+    private ControllerStateImpl
+            stateNow = new ControllerStateImpl(),
+            stateThen = new ControllerStateImpl(),
+            backState = new ControllerStateImpl(),
+            mappedState = new ControllerStateImpl();
+    private final DeadzoneControllerStateView deadzoneStateNow, deadzoneStateThen;
+
+    // written by drivers between pushes, for consumers that read input more often than every tick
+    private ControllerStateImpl
+            sampleBackState = new ControllerStateImpl(),
+            sampleFrontState = new ControllerStateImpl(),
+            sampleMappedState = new ControllerStateImpl();
+    private final DeadzoneControllerStateView deadzoneSampledState;
+    private boolean hasSample;
+    private long stateTimestamp, sampleTimestamp;
+
+    private @Nullable DeadzoneTable deadzoneTable;
+    private @Nullable Config deadzoneTableConfig;
+    private @Nullable ControllerMapping deadzoneTableMapping;
+
+    private @Nullable CompiledMapping compiledMapping;
+    private @Nullable ControllerMapping compiledMappingSource;
 
     private final int buttonCount, axisCount, hatCount;
     private final Map<ResourceLocation, DeadzoneGroup> deadzoneAxes;
     private final boolean definitelyGamepad;
 
     private final Map<ResourceLocation, InputBinding> inputBindings;
+    // indexed by registration slot, see InputBindingSupplier#slot()
+    private InputBinding[] bindingsBySlot = new InputBinding[0];
+    private @Nullable BindingInputIndex bindingIndex;
+    private final BitSet affectedBindings = new BitSet();
 
     private final IConfig<Config> config;
 
@@ -55,7 +82,9 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
                 .collect(Collectors.toMap(DeadzoneGroup::name, Function.identity(), (x, y) -> y, LinkedHashMap::new));
         this.inputBindings = new LinkedHashMap<>();
 
-        this.updateDeadzoneView();
+        this.deadzoneStateNow = new DeadzoneControllerStateView(this.stateNow);
+        this.deadzoneStateThen = new DeadzoneControllerStateView(this.stateThen);
+        this.deadzoneSampledState = new DeadzoneControllerStateView(this.sampleFrontState);
     }
 
     public ControllerStateView stateNow() {
@@ -65,6 +94,29 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         return this.deadzoneStateThen;
     }
     
+    /**
+     * The most recent state sampled with {@link #pushSample()} since the last push,
+     * otherwise the same as {@link #stateNow()}.
+     * Bindings are not evaluated against samples, see {@link InputBinding#analogueSampled(ControllerStateView)}.
+     */
+    public ControllerStateView sampledState() {
+        return this.hasSample ? this.deadzoneSampledState : this.deadzoneStateNow;
+    }
+
+    /**
+     * @return when the driver read {@link #stateNow()}, from {@link System#nanoTime()}
+     */
+    public long stateTimestamp() {
+        return this.stateTimestamp;
+    }
+
+    /**
+     * @return when the driver read {@link #sampledState()}, from {@link System#nanoTime()}
+     */
+    public long sampledStateTimestamp() {
+        return this.hasSample ? this.sampleTimestamp : this.stateTimestamp;
+    }
+
     public ControllerState rawStateNow() {
         return this.stateNow;
     }
@@ -73,25 +125,105 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         return this.stateThen;
     }
 
-    public void pushState(ControllerState state) {
-        ControllerMapping mapping = confObj().mapping;
-        if (mapping != null) {
-            state = mapping.mapState(state);
-        }
+    /**
+     * The buffer drivers should write the latest controller state into.
+     * Once written, call {@link #pushState()} to make it current.
+     * The buffer is cleared after every push, and is only valid until then.
+     */
+    public ModifiableControllerState backState() {
+        return this.backState;
+    }
 
+    /**
+     * Makes the state written to {@link #backState()} current, without allocating.
+     */
+    public void pushState() {
+        long pushStart = System.nanoTime();
+        // drivers that don't timestamp their states are measured from the push
+        long timestamp = this.backState.getTimestamp();
+        this.stateTimestamp = timestamp != 0 ? timestamp : pushStart;
+        InputLatency.record(InputLatency.Stage.DRIVER, pushStart - this.stateTimestamp);
+
+        ControllerStateImpl oldThen = this.stateThen;
         this.stateThen = this.stateNow;
-        this.stateNow = state;
-        this.updateDeadzoneView();
 
-        for (InputBinding binding : this.inputBindings.values()) {
-            binding.pushState(this.deadzoneStateNow);
+        CompiledMapping mapping = this.getCompiledMapping();
+        if (mapping != null && !mapping.isIdentity()) {
+            this.mappedState.clearState();
+            mapping.mapState(this.backState, this.mappedState);
+
+            this.stateNow = this.mappedState;
+            this.mappedState = oldThen;
+            this.backState.clearState();
+        } else {
+            this.stateNow = this.backState;
+            this.backState = oldThen;
+            this.backState.clearState();
+        }
+
+        // the previous deadzoned values are still valid, just rotate them into 'then'
+        DeadzoneControllerStateView.swap(this.deadzoneStateNow, this.deadzoneStateThen);
+        this.deadzoneStateNow.update(this.stateNow, this.getDeadzoneTable());
+        this.hasSample = false;
+
+        // only re-evaluate the bound input of bindings whose input slots changed,
+        // the rest just advance their history with their last value
+        this.getBindingIndex().collectAffected(this.deadzoneStateNow, this.deadzoneStateThen, this.affectedBindings);
+        InputBinding[] bindings = this.bindingsBySlot;
+        for (int i = 0; i < bindings.length; i++) {
+            InputBinding binding = bindings[i];
+            if (binding != null)
+                binding.pushState(this.deadzoneStateNow, this.affectedBindings.get(i));
+        }
+
+        InputLatency.recordSince(InputLatency.Stage.BINDINGS, pushStart);
+    }
+
+    /**
+     * The buffer drivers should write a sample of the controller state into, between updates.
+     * Once written, call {@link #pushSample()} to make it the {@link #sampledState()}.
+     */
+    public ModifiableControllerState sampleBackState() {
+        return this.sampleBackState;
+    }
+
+    /**
+     * Makes the state written to {@link #sampleBackState()} the {@link #sampledState()}, until the next push.
+     * This does not affect bindings or {@link #stateNow()}.
+     */
+    public void pushSample() {
+        ControllerStateImpl sample = this.sampleBackState;
+        long timestamp = sample.getTimestamp();
+        this.sampleTimestamp = timestamp != 0 ? timestamp : System.nanoTime();
+
+        this.sampleBackState = this.sampleFrontState;
+        this.sampleFrontState = sample;
+        this.sampleBackState.clearState();
+
+        CompiledMapping mapping = this.getCompiledMapping();
+        if (mapping != null && !mapping.isIdentity()) {
+            this.sampleMappedState.clearState();
+            mapping.mapState(sample, this.sampleMappedState);
+            sample = this.sampleMappedState;
         }
+
+        this.deadzoneSampledState.update(sample, this.getDeadzoneTable());
+        this.hasSample = true;
     }
 
     public @Nullable InputBinding getBinding(ResourceLocation id) {
         return this.inputBindings.get(id);
     }
 
+    /**
+     * @param slot the registration slot of the binding
+     * @return the binding, or null if it was not registered for this controller
+     */
+    public @Nullable InputBinding getBinding(int slot) {
+        InputBinding[] bindings = this.bindingsBySlot;
+        return slot >= 0 && slot < bindings.length ? bindings[slot] : null;
+    }
+
     public Collection<InputBinding> getAllBindings() {
         return this.inputBindings.values();
     }
@@ -104,9 +236,12 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
 
     @Override
     public void finalise() {
-        for (InputBinding binding : ControlifyBindApiImpl.INSTANCE.provideBindsForController(controller)) {
-            this.inputBindings.put(binding.id(), binding);
+        this.bindingsBySlot = ControlifyBindApiImpl.INSTANCE.provideBindsForController(controller);
+        for (InputBinding binding : this.bindingsBySlot) {
+            if (binding != null)
+                this.inputBindings.put(binding.id(), binding);
         }
+        this.invalidateBindingIndex();
     }
 
     public int buttonCount() {
@@ -143,18 +278,49 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         return ID;
     }
 
-    private void updateDeadzoneView() {
-        this.deadzoneStateNow = new DeadzoneControllerStateView(this.stateNow, this);
-        this.deadzoneStateThen = new DeadzoneControllerStateView(this.stateThen, this);
+    /**
+     * Forces the deadzone table to be recompiled on the next push.
+     * Must be called after modifying {@link Config#deadzones}.
+     */
+    public void invalidateDeadzones() {
+        this.deadzoneTable = null;
     }
 
-    Optional<ResourceLocation> getDeadzoneForAxis(ResourceLocation axis) {
-        for (DeadzoneGroup group : this.getDeadzoneGroups().values()) {
-            if (group.axes().contains(axis)) {
-                return Optional.of(group.name());
-            }
+    /**
+     * Forces the input to binding index to be rebuilt on the next push.
+     * Must be called after a binding's bound input changes.
+     */
+    public void invalidateBindingIndex() {
+        this.bindingIndex = null;
+    }
+
+    private BindingInputIndex getBindingIndex() {
+        if (this.bindingIndex == null) {
+            this.bindingIndex = BindingInputIndex.build(this.bindingsBySlot);
+        }
+        return this.bindingIndex;
+    }
+
+    private @Nullable CompiledMapping getCompiledMapping() {
+        ControllerMapping mapping = this.confObj().mapping;
+        if (mapping == null)
+            return null;
+
+        if (this.compiledMappingSource != mapping) {
+            this.compiledMapping = mapping.compile();
+            this.compiledMappingSource = mapping;
+        }
+        return this.compiledMapping;
+    }
+
+    private DeadzoneTable getDeadzoneTable() {
+        Config config = this.confObj();
+        if (this.deadzoneTable == null || this.deadzoneTableConfig != config || this.deadzoneTableMapping != config.mapping) {
+            this.deadzoneTable = DeadzoneTable.compile(this.getDeadzoneGroups().values(), config.deadzones, config.radialDeadzones);
+            this.deadzoneTableConfig = config;
+            this.deadzoneTableMapping = config.mapping;
         }
-        return Optional.empty();
+        return this.deadzoneTable;
     }
 
     @Override
@@ -220,6 +386,7 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         public float buttonActivationThreshold = 0.5f;
 
         public Map<ResourceLocation, Float> deadzones = new Object2ObjectOpenHashMap<>();
+        public boolean radialDeadzones = false;
         public boolean deadzonesCalibrated = false;
         public boolean delayedCalibration = false;
 
@@ -236,6 +403,7 @@ public class InputComponent implements ECSComponent, ConfigHolder<InputComponent
         @Override
         public void onConfigSaveLoad(ControllerEntity controller) {
             this.validateRadialActions(controller);
+            controller.input().ifPresent(InputComponent::invalidateDeadzones);
         }
 
         private void validateRadialActions(ControllerEntity controller) {
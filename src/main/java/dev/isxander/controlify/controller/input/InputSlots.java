@@ -0,0 +1,89 @@
+package dev.isxander.controlify.controller.input;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+
+/**
+ * Interns input IDs into dense, stable integer slots so controller state
+ * can be stored in flat arrays rather than maps keyed by {@link ResourceLocation}.
+ * <p>
+ * Buttons, axes and hats each have their own slot space. Slots are assigned
+ * on first sight and never change for the lifetime of the game.
+ * Lookups are lock-free; interning a new ID is rare and copies the table.
+ */
+public final class InputSlots {
+    public static final InputSlots BUTTONS = new InputSlots();
+    public static final InputSlots AXES = new InputSlots();
+    public static final InputSlots HATS = new InputSlots();
+
+    public static final int NONE = -1;
+
+    private volatile Object2IntMap<ResourceLocation> slots;
+    private volatile ResourceLocation[] ids;
+
+    private InputSlots() {
+        Object2IntOpenHashMap<ResourceLocation> map = new Object2IntOpenHashMap<>();
+        map.defaultReturnValue(NONE);
+        this.slots = map;
+        this.ids = new ResourceLocation[0];
+    }
+
+    /**
+     * Gets the slot of an input, assigning a new one if it has never been seen before.
+     */
+    public int slot(ResourceLocation id) {
+        int slot = this.slots.getInt(id);
+        if (slot != NONE)
+            return slot;
+
+        return this.intern(id);
+    }
+
+    /**
+     * Gets the slot of an input without assigning one.
+     * @return the slot, or {@link #NONE} if this input has never been interned
+     */
+    public int find(ResourceLocation id) {
+        return this.slots.getInt(id);
+    }
+
+    /**
+     * Interns the input and returns it, for use in static initialisers.
+     */
+    public ResourceLocation register(ResourceLocation id) {
+        this.slot(id);
+        return id;
+    }
+
+    public ResourceLocation id(int slot) {
+        return this.ids[slot];
+    }
+
+    public int size() {
+        return this.ids.length;
+    }
+
+    private synchronized int intern(ResourceLocation id) {
+        int slot = this.slots.getInt(id);
+        if (slot != NONE)
+            return slot;
+
+        slot = this.ids.length;
+
+        Object2IntOpenHashMap<ResourceLocation> newSlots = new Object2IntOpenHashMap<>(this.slots);
+        newSlots.defaultReturnValue(NONE);
+        newSlots.put(id, slot);
+
+        ResourceLocation[] newIds = Arrays.copyOf(this.ids, slot + 1);
+        newIds[slot] = id;
+
+        // publish ids first so a reader that sees the slot can always resolve it
+        this.ids = newIds;
+        this.slots = newSlots;
+
+        return slot;
+    }
+}
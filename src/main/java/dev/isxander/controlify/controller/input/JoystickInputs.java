@@ -15,7 +15,7 @@ public final class JoystickInputs {
         ResourceLocation cache = BUTTONS[index];
 
         if (cache == null) {
-            BUTTONS[index] = cache = CUtil.rl("button/" + index);
+            BUTTONS[index] = cache = InputSlots.BUTTONS.register(CUtil.rl("button/" + index));
         }
 
         return cache;
@@ -30,7 +30,7 @@ public final class JoystickInputs {
         ResourceLocation cache = AXES[cacheIndex];
 
         if (cache == null) {
-            AXES[cacheIndex] = cache = CUtil.rl("axis/" + index + "/" + (positive ? "positive" : "negative"));
+            AXES[cacheIndex] = cache = InputSlots.AXES.register(CUtil.rl("axis/" + index + "/" + (positive ? "positive" : "negative")));
         }
 
         return cache;
@@ -40,9 +40,21 @@ public final class JoystickInputs {
         ResourceLocation cache = HATS[index];
 
         if (cache == null) {
-            HATS[index] = cache = CUtil.rl("hat/" + index);
+            HATS[index] = cache = InputSlots.HATS.register(CUtil.rl("hat/" + index));
         }
 
         return cache;
     }
+
+    public static int buttonSlot(int index) {
+        return InputSlots.BUTTONS.slot(button(index));
+    }
+
+    public static int axisSlot(int index, boolean positive) {
+        return InputSlots.AXES.slot(axis(index, positive));
+    }
+
+    public static int hatSlot(int index) {
+        return InputSlots.HATS.slot(hat(index));
+    }
 }
@@ -8,4 +8,31 @@ public interface ModifiableControllerState extends ControllerState {
     void setAxis(ResourceLocation axis, float value);
 
     void setHat(ResourceLocation hat, HatState state);
+
+    default void setButton(int buttonSlot, boolean pressed) {
+        setButton(InputSlots.BUTTONS.id(buttonSlot), pressed);
+    }
+
+    default void setAxis(int axisSlot, float value) {
+        setAxis(InputSlots.AXES.id(axisSlot), value);
+    }
+
+    default void setHat(int hatSlot, HatState state) {
+        setHat(InputSlots.HATS.id(hatSlot), state);
+    }
+
+    /**
+     * Sets how many times the button was pressed and released since the previous state.
+     * States that cannot store edges ignore them.
+     * @see ControllerStateView#getButtonPresses(int)
+     */
+    default void setButtonEdges(int buttonSlot, int presses, int releases) {
+    }
+
+    /**
+     * Sets when the driver read this state from the controller, from {@link System#nanoTime()}.
+     * Used to measure input latency, see {@link dev.isxander.controlify.debug.InputLatency}.
+     */
+    default void setTimestamp(long nanos) {
+    }
 }
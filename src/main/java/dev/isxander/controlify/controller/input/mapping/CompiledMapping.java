@@ -0,0 +1,190 @@
+package dev.isxander.controlify.controller.input.mapping;
+
+import dev.isxander.controlify.controller.input.ControllerState;
+import dev.isxander.controlify.controller.input.HatState;
+import dev.isxander.controlify.controller.input.InputSlots;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+
+import java.util.Arrays;
+
+/**
+ * A {@link ControllerMapping} flattened into a program of parallel arrays:
+ * an opcode, source slot, target slot and constants per instruction.
+ * <p>
+ * Executing the program is a single loop over primitive arrays against the slot-indexed
+ * state, with no per-entry virtual dispatch, map lookups or allocation.
+ */
+public final class CompiledMapping implements StateMapper {
+    static final byte BUTTON_TO_BUTTON = 0;
+    static final byte BUTTON_TO_AXIS = 1;
+    static final byte BUTTON_TO_HAT = 2;
+    static final byte AXIS_TO_BUTTON = 3;
+    static final byte AXIS_TO_AXIS = 4;
+    static final byte AXIS_TO_HAT = 5;
+    static final byte HAT_TO_BUTTON = 6;
+    static final byte HAT_TO_AXIS = 7;
+    static final byte HAT_TO_HAT = 8;
+    static final byte CONST_BUTTON = 9;
+    static final byte CONST_AXIS = 10;
+    static final byte CONST_HAT = 11;
+
+    private static final HatState[] HAT_STATES = HatState.values();
+
+    private final int length;
+    private final byte[] ops;
+    private final int[] sources;
+    private final int[] targets;
+    /** integer operands: booleans, hat ordinals */
+    private final int[] intArgs0, intArgs1;
+    /** float operands: thresholds, axis ranges, constant values */
+    private final float[] floatArgs0, floatArgs1, floatArgs2, floatArgs3;
+
+    private CompiledMapping(Builder builder) {
+        this.length = builder.length;
+        this.ops = Arrays.copyOf(builder.ops, length);
+        this.sources = Arrays.copyOf(builder.sources, length);
+        this.targets = Arrays.copyOf(builder.targets, length);
+        this.intArgs0 = Arrays.copyOf(builder.intArgs0, length);
+        this.intArgs1 = Arrays.copyOf(builder.intArgs1, length);
+        this.floatArgs0 = Arrays.copyOf(builder.floatArgs0, length);
+        this.floatArgs1 = Arrays.copyOf(builder.floatArgs1, length);
+        this.floatArgs2 = Arrays.copyOf(builder.floatArgs2, length);
+        this.floatArgs3 = Arrays.copyOf(builder.floatArgs3, length);
+    }
+
+    public static CompiledMapping compile(ControllerMapping mapping) {
+        Builder builder = new Builder();
+        for (MappingEntry entry : mapping.mappings()) {
+            entry.compile(builder);
+        }
+        return new CompiledMapping(builder);
+    }
+
+    @Override
+    public void mapState(ControllerState state, ModifiableControllerState output) {
+        for (int i = 0; i < length; i++) {
+            int src = sources[i];
+            int dst = targets[i];
+
+            switch (ops[i]) {
+                case BUTTON_TO_BUTTON -> {
+                    boolean invert = intArgs0[i] != 0;
+                    output.setButton(dst, state.isButtonDown(src) != invert);
+                    int presses = state.getButtonPresses(src), releases = state.getButtonReleases(src);
+                    output.setButtonEdges(dst, invert ? releases : presses, invert ? presses : releases);
+                }
+                case BUTTON_TO_AXIS -> output.setAxis(dst, state.isButtonDown(src) ? floatArgs1[i] : floatArgs0[i]);
+                case BUTTON_TO_HAT -> output.setHat(dst, HAT_STATES[state.isButtonDown(src) ? intArgs1[i] : intArgs0[i]]);
+                case AXIS_TO_BUTTON -> output.setButton(dst, state.getAxisState(src) >= floatArgs0[i]);
+                case AXIS_TO_AXIS -> output.setAxis(dst, Mth.lerp(
+                        Mth.inverseLerp(state.getAxisState(src), floatArgs0[i], floatArgs1[i]),
+                        floatArgs2[i], floatArgs3[i]
+                ));
+                case AXIS_TO_HAT -> output.setHat(dst, state.getAxisState(src) >= floatArgs0[i] ? HAT_STATES[intArgs0[i]] : HatState.CENTERED);
+                case HAT_TO_BUTTON -> output.setButton(dst, state.getHatState(src).ordinal() == intArgs0[i]);
+                case HAT_TO_AXIS -> output.setAxis(dst, state.getHatState(src).ordinal() == intArgs0[i] ? floatArgs0[i] : floatArgs1[i]);
+                case HAT_TO_HAT -> output.setHat(dst, state.getHatState(src));
+                case CONST_BUTTON -> output.setButton(dst, intArgs0[i] != 0);
+                case CONST_AXIS -> output.setAxis(dst, floatArgs0[i]);
+                case CONST_HAT -> output.setHat(dst, HAT_STATES[intArgs0[i]]);
+                default -> throw new IllegalStateException("Unknown mapping opcode: " + ops[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean isIdentity() {
+        return length == 0;
+    }
+
+    /**
+     * Appends instructions to a program. Each {@link MappingEntry} emits itself into this.
+     */
+    public static final class Builder {
+        private int length;
+        private byte[] ops = new byte[8];
+        private int[] sources = new int[8];
+        private int[] targets = new int[8];
+        private int[] intArgs0 = new int[8], intArgs1 = new int[8];
+        private float[] floatArgs0 = new float[8], floatArgs1 = new float[8], floatArgs2 = new float[8], floatArgs3 = new float[8];
+
+        private Builder() {
+        }
+
+        void buttonToButton(ResourceLocation from, ResourceLocation to, boolean invert) {
+            emit(BUTTON_TO_BUTTON, InputSlots.BUTTONS.slot(from), InputSlots.BUTTONS.slot(to), invert ? 1 : 0, 0, 0, 0, 0, 0);
+        }
+
+        void buttonToAxis(ResourceLocation from, ResourceLocation to, float offState, float onState) {
+            emit(BUTTON_TO_AXIS, InputSlots.BUTTONS.slot(from), InputSlots.AXES.slot(to), 0, 0, offState, onState, 0, 0);
+        }
+
+        void buttonToHat(ResourceLocation from, ResourceLocation to, HatState offState, HatState onState) {
+            emit(BUTTON_TO_HAT, InputSlots.BUTTONS.slot(from), InputSlots.HATS.slot(to), offState.ordinal(), onState.ordinal(), 0, 0, 0, 0);
+        }
+
+        void axisToButton(ResourceLocation from, ResourceLocation to, float threshold) {
+            emit(AXIS_TO_BUTTON, InputSlots.AXES.slot(from), InputSlots.BUTTONS.slot(to), 0, 0, threshold, 0, 0, 0);
+        }
+
+        void axisToAxis(ResourceLocation from, ResourceLocation to, float minIn, float maxIn, float minOut, float maxOut) {
+            emit(AXIS_TO_AXIS, InputSlots.AXES.slot(from), InputSlots.AXES.slot(to), 0, 0, minIn, maxIn, minOut, maxOut);
+        }
+
+        void axisToHat(ResourceLocation from, ResourceLocation to, float threshold, HatState targetState) {
+            emit(AXIS_TO_HAT, InputSlots.AXES.slot(from), InputSlots.HATS.slot(to), targetState.ordinal(), 0, threshold, 0, 0, 0);
+        }
+
+        void hatToButton(ResourceLocation from, ResourceLocation to, HatState targetState) {
+            emit(HAT_TO_BUTTON, InputSlots.HATS.slot(from), InputSlots.BUTTONS.slot(to), targetState.ordinal(), 0, 0, 0, 0, 0);
+        }
+
+        void hatToAxis(ResourceLocation from, ResourceLocation to, HatState targetState, float onState, float offState) {
+            emit(HAT_TO_AXIS, InputSlots.HATS.slot(from), InputSlots.AXES.slot(to), targetState.ordinal(), 0, onState, offState, 0, 0);
+        }
+
+        void hatToHat(ResourceLocation from, ResourceLocation to) {
+            emit(HAT_TO_HAT, InputSlots.HATS.slot(from), InputSlots.HATS.slot(to), 0, 0, 0, 0, 0, 0);
+        }
+
+        void constButton(ResourceLocation to, boolean state) {
+            emit(CONST_BUTTON, 0, InputSlots.BUTTONS.slot(to), state ? 1 : 0, 0, 0, 0, 0, 0);
+        }
+
+        void constAxis(ResourceLocation to, float state) {
+            emit(CONST_AXIS, 0, InputSlots.AXES.slot(to), 0, 0, state, 0, 0, 0);
+        }
+
+        void constHat(ResourceLocation to, HatState state) {
+            emit(CONST_HAT, 0, InputSlots.HATS.slot(to), state.ordinal(), 0, 0, 0, 0, 0);
+        }
+
+        private void emit(byte op, int source, int target, int i0, int i1, float f0, float f1, float f2, float f3) {
+            if (length == ops.length) {
+                int newSize = length * 2;
+                ops = Arrays.copyOf(ops, newSize);
+                sources = Arrays.copyOf(sources, newSize);
+                targets = Arrays.copyOf(targets, newSize);
+                intArgs0 = Arrays.copyOf(intArgs0, newSize);
+                intArgs1 = Arrays.copyOf(intArgs1, newSize);
+                floatArgs0 = Arrays.copyOf(floatArgs0, newSize);
+                floatArgs1 = Arrays.copyOf(floatArgs1, newSize);
+                floatArgs2 = Arrays.copyOf(floatArgs2, newSize);
+                floatArgs3 = Arrays.copyOf(floatArgs3, newSize);
+            }
+
+            ops[length] = op;
+            sources[length] = source;
+            targets[length] = target;
+            intArgs0[length] = i0;
+            intArgs1[length] = i1;
+            floatArgs0[length] = f0;
+            floatArgs1[length] = f1;
+            floatArgs2[length] = f2;
+            floatArgs3[length] = f3;
+            length++;
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package dev.isxander.controlify.controller.input.mapping;
 
-import dev.isxander.controlify.controller.input.ControllerState;
 import dev.isxander.controlify.controller.input.HatState;
-import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.util.Mth;
 
 public sealed interface MappingEntry {
-    void apply(ControllerState oldState, ModifiableControllerState newState);
+    /**
+     * Emits the instructions that perform this mapping into a program.
+     */
+    void compile(CompiledMapping.Builder program);
 
     MapType inputType();
 
@@ -20,10 +20,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                boolean fromState = oldState.isButtonDown(from);
-                if (invert()) fromState = !fromState;
-                newState.setButton(to, fromState);
+            public void compile(CompiledMapping.Builder program) {
+                program.buttonToButton(from, to, invert);
             }
         }
 
@@ -33,8 +31,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setAxis(to, oldState.isButtonDown(from) ? onState : offState);
+            public void compile(CompiledMapping.Builder program) {
+                program.buttonToAxis(from, to, offState, onState);
             }
         }
 
@@ -44,8 +42,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setHat(to, oldState.isButtonDown(from) ? onState : offState);
+            public void compile(CompiledMapping.Builder program) {
+                program.buttonToHat(from, to, offState, onState);
             }
         }
     }
@@ -57,8 +55,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setButton(to, oldState.getAxisState(from) >= threshold);
+            public void compile(CompiledMapping.Builder program) {
+                program.axisToButton(from, to, threshold);
             }
         }
 
@@ -68,10 +66,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                float oldVal = oldState.getAxisState(from);
-                float newVal = Mth.lerp(Mth.inverseLerp(oldVal, minIn, maxIn), minOut, maxOut);
-                newState.setAxis(to, newVal);
+            public void compile(CompiledMapping.Builder program) {
+                program.axisToAxis(from, to, minIn, maxIn, minOut, maxOut);
             }
         }
 
@@ -81,9 +77,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                float oldVal = oldState.getAxisState(from);
-                newState.setHat(to, oldVal >= threshold ? targetState : HatState.CENTERED);
+            public void compile(CompiledMapping.Builder program) {
+                program.axisToHat(from, to, threshold, targetState);
             }
         }
     }
@@ -95,8 +90,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setButton(to, oldState.getHatState(from) == targetState);
+            public void compile(CompiledMapping.Builder program) {
+                program.hatToButton(from, to, targetState);
             }
         }
 
@@ -106,8 +101,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setAxis(to, oldState.getHatState(from) == targetState ? onState : offState);
+            public void compile(CompiledMapping.Builder program) {
+                program.hatToAxis(from, to, targetState, onState, offState);
             }
         }
 
@@ -117,8 +112,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setHat(to, oldState.getHatState(from));
+            public void compile(CompiledMapping.Builder program) {
+                program.hatToHat(from, to);
             }
         }
     }
@@ -130,8 +125,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setButton(to, state);
+            public void compile(CompiledMapping.Builder program) {
+                program.constButton(to, state);
             }
         }
 
@@ -141,8 +136,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setAxis(to, state);
+            public void compile(CompiledMapping.Builder program) {
+                program.constAxis(to, state);
             }
         }
 
@@ -152,8 +147,8 @@ public sealed interface MappingEntry {
             }
 
             @Override
-            public void apply(ControllerState oldState, ModifiableControllerState newState) {
-                newState.setHat(to, HatState.CENTERED);
+            public void compile(CompiledMapping.Builder program) {
+                program.constHat(to, HatState.CENTERED);
             }
         }
     }
@@ -1,7 +1,16 @@
 package dev.isxander.controlify.controller.input.mapping;
 
 import dev.isxander.controlify.controller.input.ControllerState;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 
 public interface StateMapper {
-   ControllerState mapState(ControllerState state);
+   /**
+    * Maps the state into the output state. The output state is expected to be cleared.
+    */
+   void mapState(ControllerState state, ModifiableControllerState output);
+
+   /**
+    * @return true if mapping would produce an identical state, so it can be skipped entirely
+    */
+   boolean isIdentity();
 }
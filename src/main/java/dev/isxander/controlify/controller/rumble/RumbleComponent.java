@@ -33,6 +33,10 @@ public class RumbleComponent implements ECSComponent, ConfigHolder<RumbleCompone
         }
     }
 
+    public boolean hasQueuedRumble() {
+        return this.state != null;
+    }
+
     public Optional<RumbleState> consumeRumble() {
         RumbleState state = this.state;
         this.state = null;
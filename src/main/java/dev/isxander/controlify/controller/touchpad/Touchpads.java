@@ -1,9 +1,12 @@
 package dev.isxander.controlify.controller.touchpad;
 
+import org.joml.Vector2f;
 import org.joml.Vector2fc;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 public record Touchpads(Touchpad[] touchpads) {
     public static final class Touchpad {
@@ -12,16 +15,40 @@ public record Touchpads(Touchpad[] touchpads) {
 
         private final int maxFingers;
 
+        // two sets of fingers, indexed by finger id, that pushFingers(boolean[], ...) alternates between
+        private final Finger[][] fingerStorage;
+        private final List<Finger>[] fingerLists;
+        private final List<Finger>[] fingerListViews;
+        private int currentStorage;
+
+        @SuppressWarnings("unchecked")
         public Touchpad(int maxFingers) {
             this.fingers = new ArrayList<>();
             this.prevFingers = new ArrayList<>();
             this.maxFingers = maxFingers;
+
+            this.fingerStorage = new Finger[2][maxFingers];
+            this.fingerLists = new List[2];
+            this.fingerListViews = new List[2];
+            for (int i = 0; i < 2; i++) {
+                for (int id = 0; id < maxFingers; id++) {
+                    this.fingerStorage[i][id] = new Finger(id, new Vector2f(), 0f);
+                }
+                this.fingerLists[i] = new ArrayList<>(maxFingers);
+                this.fingerListViews[i] = Collections.unmodifiableList(this.fingerLists[i]);
+            }
         }
 
+        /**
+         * The list and fingers may be reused by the push after next, so copy them to keep them longer.
+         */
         public List<Finger> fingersNow() {
             return fingers;
         }
 
+        /**
+         * @see #fingersNow()
+         */
         public List<Finger> fingersThen() {
             return prevFingers;
         }
@@ -31,16 +58,81 @@ public record Touchpads(Touchpad[] touchpads) {
             this.fingers = List.copyOf(fingers);
         }
 
+        /**
+         * Pushes the fingers down on the touchpad, reusing this touchpad's own finger storage
+         * rather than allocating. Each array is indexed by finger id, up to {@link #maxFingers()}.
+         */
+        public void pushFingers(boolean[] down, float[] x, float[] y, float[] pressure) {
+            currentStorage ^= 1;
+            Finger[] storage = fingerStorage[currentStorage];
+            List<Finger> list = fingerLists[currentStorage];
+
+            list.clear();
+            int count = Math.min(down.length, maxFingers);
+            for (int id = 0; id < count; id++) {
+                if (down[id]) {
+                    Finger finger = storage[id];
+                    finger.position.set(x[id], y[id]);
+                    finger.pressure = pressure[id];
+                    list.add(finger);
+                }
+            }
+
+            prevFingers = this.fingers;
+            this.fingers = fingerListViews[currentStorage];
+        }
+
         public int maxFingers() {
             return maxFingers;
         }
     }
 
     /**
-     * @param position position of finger on touchpad, in range [0, 1] where (0, 0) is top-left and (1, 1) is bottom-right
-     * @param pressure pressure of finger on touchpad, in range [0, 1]. can be 0 if finger is resting on touchpad
+     * A finger on a touchpad. Fingers pushed by a touchpad are reused, see {@link Touchpad#fingersNow()}.
      */
-    public record Finger(int id, Vector2fc position, float pressure) {
+    public static final class Finger {
+        private final int id;
+        private final Vector2f position;
+        private float pressure;
+
+        /**
+         * @param position position of finger on touchpad, in range [0, 1] where (0, 0) is top-left and (1, 1) is bottom-right
+         * @param pressure pressure of finger on touchpad, in range [0, 1]. can be 0 if finger is resting on touchpad
+         */
+        public Finger(int id, Vector2fc position, float pressure) {
+            this.id = id;
+            this.position = new Vector2f(position);
+            this.pressure = pressure;
+        }
+
+        public int id() {
+            return id;
+        }
+
+        public Vector2fc position() {
+            return position;
+        }
+
+        public float pressure() {
+            return pressure;
+        }
 
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Finger finger
+                    && id == finger.id
+                    && Float.compare(pressure, finger.pressure) == 0
+                    && position.equals(finger.position);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, position, pressure);
+        }
+
+        @Override
+        public String toString() {
+            return "Finger[id=" + id + ", position=" + position + ", pressure=" + pressure + "]";
+        }
     }
 }
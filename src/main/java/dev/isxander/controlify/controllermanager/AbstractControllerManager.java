@@ -35,6 +35,8 @@ public abstract class AbstractControllerManager implements ControllerManager {
     protected final Map<String, ControllerEntity> controllersByUid = new Object2ObjectOpenHashMap<>();
     protected final Map<String, ControllerHIDService.ControllerHIDInfo> hidInfoByUid = new Object2ObjectOpenHashMap<>();
 
+    private final DriverUpdateStage driverUpdateStage = new DriverUpdateStage();
+
 
     public AbstractControllerManager() {
         this.controlify = Controlify.instance();
@@ -80,12 +82,24 @@ public abstract class AbstractControllerManager implements ControllerManager {
 
     @Override
     public void tick(boolean outOfFocus) {
+        // every controller finishes updating before any state update event
+        driverUpdateStage.update(controllersByUid.values(), outOfFocus);
+
         for (ControllerEntity controller : controllersByUid.values()) {
-            controller.drivers().forEach(d -> d.update(controller, outOfFocus));
             ControlifyEvents.CONTROLLER_STATE_UPDATE.invoke(new ControlifyEvents.ControllerStateUpdate(controller));
         }
     }
 
+    @Override
+    public void sampleInput(ControllerEntity controller) {
+        controller.drivers().forEach(d -> d.sample(controller));
+    }
+
+    @Override
+    public void sendOutput(ControllerEntity controller) {
+        controller.drivers().forEach(d -> d.sendOutput(controller));
+    }
+
     protected void onControllerConnected(ControllerEntity controller, boolean hotplug) {
         boolean newController = controlify.config().loadControllerConfig(controller);
 
@@ -150,6 +164,7 @@ public abstract class AbstractControllerManager implements ControllerManager {
     @Override
     public void close() {
         controllersByUid.values().forEach(ControllerEntity::close);
+        driverUpdateStage.close();
     }
 
     protected abstract void loadGamepadMappings(ResourceProvider resourceProvider);
@@ -11,6 +11,16 @@ public interface ControllerManager {
 
     void tick(boolean outOfFocus);
 
+    /**
+     * Samples the latest input of a controller between ticks, see {@link dev.isxander.controlify.driver.Driver#sample(ControllerEntity)}.
+     */
+    void sampleInput(ControllerEntity controller);
+
+    /**
+     * Sends queued output of a controller between ticks, see {@link dev.isxander.controlify.driver.Driver#sendOutput(ControllerEntity)}.
+     */
+    void sendOutput(ControllerEntity controller);
+
     boolean probeConnectedControllers();
 
     List<ControllerEntity> getConnectedControllers();
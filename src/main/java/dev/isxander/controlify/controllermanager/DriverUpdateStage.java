@@ -0,0 +1,123 @@
+package dev.isxander.controlify.controllermanager;
+
+import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.driver.Driver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Updates the drivers of every connected controller in two steps.
+ * <p>
+ * First every driver {@link Driver#read(ControllerEntity) reads} its controller's native state,
+ * fanning controllers whose drivers {@link Driver#canReadInParallel() can read in parallel}
+ * out to a small pool of worker threads whilst the rest read on the main thread.
+ * Once every read has finished, every driver is {@link Driver#update(ControllerEntity, boolean) updated}
+ * on the main thread, so pushing input state, evaluating bindings and sending output never leave it.
+ * With only one controller that can read in parallel, everything runs on the main thread,
+ * as handing off to a worker would cost more than it saves.
+ */
+class DriverUpdateStage {
+    private static final int MAX_WORKERS = 4;
+
+    private final List<ControllerEntity> parallel = new ArrayList<>();
+    private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+    private ExecutorService workers;
+
+    void update(Collection<ControllerEntity> controllers, boolean outOfFocus) {
+        read(controllers);
+
+        for (ControllerEntity controller : controllers) {
+            for (Driver driver : controller.drivers()) {
+                driver.update(controller, outOfFocus);
+            }
+        }
+    }
+
+    private void read(Collection<ControllerEntity> controllers) {
+        parallel.clear();
+        for (ControllerEntity controller : controllers) {
+            if (canReadInParallel(controller)) {
+                parallel.add(controller);
+            }
+        }
+
+        if (parallel.size() < 2) {
+            for (ControllerEntity controller : controllers) {
+                readController(controller);
+            }
+            return;
+        }
+
+        if (workers == null) {
+            workers = createWorkers();
+        }
+
+        pending.clear();
+        for (ControllerEntity controller : parallel) {
+            pending.add(CompletableFuture.runAsync(() -> readController(controller), workers));
+        }
+
+        try {
+            for (ControllerEntity controller : controllers) {
+                if (!parallel.contains(controller)) {
+                    readController(controller);
+                }
+            }
+        } finally {
+            awaitWorkers();
+        }
+    }
+
+    private void awaitWorkers() {
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // surface the failure on the main thread, as if the read had run here
+            if (e.getCause() instanceof RuntimeException runtime)
+                throw runtime;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw e;
+        } finally {
+            pending.clear();
+        }
+    }
+
+    void close() {
+        if (workers != null) {
+            workers.shutdown();
+            workers = null;
+        }
+    }
+
+    private static void readController(ControllerEntity controller) {
+        for (Driver driver : controller.drivers()) {
+            driver.read(controller);
+        }
+    }
+
+    private static boolean canReadInParallel(ControllerEntity controller) {
+        for (Driver driver : controller.drivers()) {
+            if (!driver.canReadInParallel())
+                return false;
+        }
+        return true;
+    }
+
+    private static ExecutorService createWorkers() {
+        int threads = Math.max(1, Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors() - 1));
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Controlify Driver Read #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -38,10 +38,13 @@ public class GLFWControllerManager extends AbstractControllerManager {
             try {
                 GLFWUniqueControllerID ucid = new GLFWUniqueControllerID(jid);
                 if (event == GLFW.GLFW_CONNECTED) {
-                    tryCreate(ucid, controlify.controllerHIDService().fetchType(jid))
-                            .ifPresent(controller -> onControllerConnected(controller, true));
+                    // the new device is only in the HID snapshot once it has been enumerated again,
+                    // which happens in the background, so the controller is created after that
+                    controlify.controllerHIDService().invalidate()
+                            .thenRunAsync(() -> onJoystickConnected(jid, ucid), minecraft);
                 } else if (event == GLFW.GLFW_DISCONNECTED) {
                     getController(ucid).ifPresent(this::onControllerRemoved);
+                    controlify.controllerHIDService().invalidate();
                 }
             } catch (Throwable e) {
                 CUtil.LOGGER.error("Failed to handle controller connect/disconnect event", e);
@@ -49,8 +52,23 @@ public class GLFWControllerManager extends AbstractControllerManager {
         });
     }
 
+    private void onJoystickConnected(int jid, GLFWUniqueControllerID ucid) {
+        try {
+            // it may have been disconnected again, or discovered, whilst enumerating
+            if (!GLFW.glfwJoystickPresent(jid) || getController(ucid).isPresent())
+                return;
+
+            tryCreate(ucid, controlify.controllerHIDService().fetchType(jid))
+                    .ifPresent(controller -> onControllerConnected(controller, true));
+        } catch (Throwable e) {
+            CUtil.LOGGER.error("Failed to handle controller connect event", e);
+        }
+    }
+
     @Override
     public void discoverControllers() {
+        controlify.controllerHIDService().awaitFirstScan();
+
         for (int i = 0; i < GLFW.GLFW_JOYSTICK_LAST; i++) {
             if (!GLFW.glfwJoystickPresent(i))
                 continue;
@@ -0,0 +1,99 @@
+package dev.isxander.controlify.controllermanager;
+
+import dev.isxander.controlify.utils.CUtil;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a poll task at a fixed rate on a dedicated daemon thread,
+ * independently of the client tick rate.
+ * The task is run while holding the given lock, so the owner can keep
+ * native calls that must not overlap off of this thread while it is polling.
+ */
+class InputPollingThread {
+    private final Runnable poll;
+    private final Lock lock;
+
+    private volatile boolean running;
+    private volatile boolean failed;
+    private volatile long intervalNanos;
+    private Thread thread;
+
+    InputPollingThread(Runnable poll, Lock lock) {
+        this.poll = poll;
+        this.lock = lock;
+    }
+
+    /**
+     * Starts the thread, or changes the rate if already running.
+     * Does nothing if a previous run failed.
+     */
+    void start(int rateHz) {
+        if (this.failed)
+            return;
+
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / rateHz;
+        if (this.running)
+            return;
+
+        this.running = true;
+        this.thread = new Thread(this::run, "Controlify Input Polling");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MAX_PRIORITY);
+        this.thread.start();
+    }
+
+    /**
+     * Stops the thread and waits for it to finish its current poll.
+     * Must not be called while holding the lock.
+     */
+    void stop() {
+        if (!this.running)
+            return;
+
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        try {
+            this.thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.thread = null;
+    }
+
+    boolean isRunning() {
+        return this.running;
+    }
+
+    private void run() {
+        long nextPoll = System.nanoTime();
+
+        while (this.running) {
+            this.lock.lock();
+            try {
+                this.poll.run();
+            } catch (Throwable e) {
+                CUtil.LOGGER.error("Failed to poll controllers off-thread, returning to polling every tick.", e);
+                this.failed = true;
+                this.running = false;
+                return;
+            } finally {
+                this.lock.unlock();
+            }
+
+            long interval = this.intervalNanos;
+            nextPoll += interval;
+            long now = System.nanoTime();
+            if (nextPoll < now) {
+                // fell behind, don't try to catch up with a burst of polls
+                nextPoll = now + interval;
+            }
+
+            while (this.running && (now = System.nanoTime()) < nextPoll) {
+                LockSupport.parkNanos(nextPoll - now);
+            }
+        }
+    }
+}
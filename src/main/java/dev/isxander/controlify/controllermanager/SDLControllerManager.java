@@ -28,6 +28,8 @@ import dev.isxander.sdl3java.api.joystick.SDL_Joystick;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickGUID;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickID;
 import dev.isxander.sdl3java.jna.size_t;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceProvider;
 import org.apache.commons.lang3.Validate;
@@ -36,8 +38,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static dev.isxander.sdl3java.api.error.SdlError.*;
+import static dev.isxander.sdl3java.api.events.SDL_EventAction.*;
 import static dev.isxander.sdl3java.api.events.SDL_EventType.*;
 import static dev.isxander.sdl3java.api.events.SdlEvents.*;
 import static dev.isxander.sdl3java.api.gamepad.SdlGamepad.*;
@@ -47,13 +51,24 @@ import static dev.isxander.sdl3java.api.joystick.SdlJoystick.*;
 public class SDLControllerManager extends AbstractControllerManager {
 
     private SDL_Event event = new SDL_Event();
+    // gamepad events taken from the queue between ticks, one at a time
+    private final SDL_Event[] peepedEvent = { new SDL_Event() };
 
     // must keep a reference to prevent GC from collecting it and the callback failing
-    @SuppressWarnings({"FieldCanBeLocal", "unused"})
     private final EventFilter eventFilter;
 
     private boolean steamDeckConsumed = false;
 
+    // gamepad events are routed to their driver by joystick ID, gyro events always and the rest when event driven input is enabled
+    private final Int2ObjectMap<SDL3GamepadDriver> gamepadDriversByJid = new Int2ObjectOpenHashMap<>();
+    private boolean eventDrivenInput = false;
+
+    // held by the polling thread whilst it polls, and by the main thread only whilst pumping events,
+    // opening or closing controllers, or switching how input is read, so a driver is never closed mid-poll
+    private final ReentrantLock sdlLock = new ReentrantLock();
+    private final InputPollingThread pollingThread = new InputPollingThread(this::pollOffThread, sdlLock);
+    private boolean polledOffThread = false;
+
     public SDLControllerManager() {
         Validate.isTrue(SDL3NativesManager.isLoaded(), "SDL3 natives must be loaded before creating SDLControllerManager");
 
@@ -62,8 +77,39 @@ public class SDLControllerManager extends AbstractControllerManager {
 
     @Override
     public void tick(boolean outOfFocus) {
+        int pollingRate = controlify.config().globalSettings().inputPollingRate;
+        if (pollingRate > 0) {
+            pollingThread.start(pollingRate);
+        } else {
+            pollingThread.stop();
+        }
+
+        sdlLock.lock();
+        try {
+            this.setPolledOffThread(pollingThread.isRunning());
+            this.setEventDrivenInput(controlify.config().globalSettings().eventDrivenInput && !polledOffThread);
+        } finally {
+            sdlLock.unlock();
+        }
+
+        // not locked, so the polling thread keeps polling whilst drivers update.
+        // when polled off-thread, drivers only read the latest published snapshot, and SDL locks its joysticks
+        // internally for the output they send. Drivers are only closed on this thread, so none closes mid-update.
         super.tick(outOfFocus);
 
+        sdlLock.lock();
+        try {
+            pumpEvents();
+        } finally {
+            sdlLock.unlock();
+        }
+    }
+
+    /**
+     * Handles SDL events, including opening and closing hotplugged controllers,
+     * with {@link #sdlLock} held so the polling thread never sees a driver being added or closed.
+     */
+    private void pumpEvents() {
         SDL_PumpEvents();
 
         if (event == null) {
@@ -78,10 +124,8 @@ public class SDLControllerManager extends AbstractControllerManager {
                     SDL_JoystickID jid = event.jdevice.which;
                     Validate.notNull(jid, "JID was null");
 
-                    UniqueControllerID ucid = new SDLUniqueControllerID(jid);
-
                     Optional<ControllerEntity> controllerOpt = tryCreate(
-                            ucid,
+                            new SDLUniqueControllerID(jid),
                             fetchTypeFromSDL(jid)
                                     .orElse(new ControllerHIDService.ControllerHIDInfo(ControllerType.DEFAULT, Optional.empty()))
                     );
@@ -101,6 +145,12 @@ public class SDLControllerManager extends AbstractControllerManager {
                                     () -> CUtil.LOGGER.warn("Controller removed but not found: {}", jid.intValue())
                             );
                 }
+
+                case SDL_EVENT_GAMEPAD_AXIS_MOTION,
+                     SDL_EVENT_GAMEPAD_BUTTON_DOWN, SDL_EVENT_GAMEPAD_BUTTON_UP,
+                     SDL_EVENT_GAMEPAD_SENSOR_UPDATE,
+                     SDL_EVENT_GAMEPAD_TOUCHPAD_DOWN, SDL_EVENT_GAMEPAD_TOUCHPAD_MOTION, SDL_EVENT_GAMEPAD_TOUCHPAD_UP ->
+                        routeGamepadEvent(event);
             }
         }
 
@@ -108,8 +158,101 @@ public class SDLControllerManager extends AbstractControllerManager {
         SDL_UpdateJoysticks();
     }
 
+    /**
+     * Takes just the gamepad events from the queue and routes them to their drivers,
+     * leaving every other event, such as hotplugging, for {@link #pumpEvents()}.
+     * Gamepad added, removed and remapped events fall in this range, but are never let into the queue.
+     */
+    private void routeQueuedGamepadEvents(int minType, int maxType) {
+        while (SDL_PeepEvents(peepedEvent, 1, SDL_GETEVENT, minType, maxType) > 0) {
+            routeGamepadEvent(peepedEvent[0]);
+        }
+    }
+
+    private void routeGamepadEvent(SDL_Event event) {
+        SDL_JoystickID jid = switch (event.type) {
+            case SDL_EVENT_GAMEPAD_AXIS_MOTION -> event.gaxis.which;
+            case SDL_EVENT_GAMEPAD_BUTTON_DOWN, SDL_EVENT_GAMEPAD_BUTTON_UP -> event.gbutton.which;
+            case SDL_EVENT_GAMEPAD_SENSOR_UPDATE -> event.gsensor.which;
+            case SDL_EVENT_GAMEPAD_TOUCHPAD_DOWN, SDL_EVENT_GAMEPAD_TOUCHPAD_MOTION, SDL_EVENT_GAMEPAD_TOUCHPAD_UP -> event.gtouchpad.which;
+            default -> null;
+        };
+        if (jid == null)
+            return;
+
+        SDL3GamepadDriver driver = gamepadDriversByJid.get(jid.intValue());
+        if (driver != null) {
+            driver.handleEvent(event);
+        }
+    }
+
+    @Override
+    public void sampleInput(ControllerEntity controller) {
+        sdlLock.lock();
+        try {
+            // the polling thread keeps SDL's gamepad state up to date already
+            if (!polledOffThread) {
+                SDL_UpdateGamepads();
+            }
+
+            // when event driven, events are the only input, so this frame's are applied now
+            // rather than at the next tick. Drivers then sample without polling, which would count edges twice.
+            // gyro is always integrated from events, so those are applied every frame either way
+            if (eventDrivenInput) {
+                routeQueuedGamepadEvents(SDL_EVENT_GAMEPAD_AXIS_MOTION, SDL_EVENT_GAMEPAD_SENSOR_UPDATE);
+            } else {
+                routeQueuedGamepadEvents(SDL_EVENT_GAMEPAD_SENSOR_UPDATE, SDL_EVENT_GAMEPAD_SENSOR_UPDATE);
+            }
+        } finally {
+            sdlLock.unlock();
+        }
+
+        super.sampleInput(controller);
+    }
+
+    private void setPolledOffThread(boolean polledOffThread) {
+        if (this.polledOffThread == polledOffThread)
+            return;
+
+        // the thread may also have stopped itself after failing, so this follows whether it is running
+        this.polledOffThread = polledOffThread;
+        for (SDL3GamepadDriver driver : gamepadDriversByJid.values()) {
+            driver.setPolledOffThread(polledOffThread);
+        }
+    }
+
+    /**
+     * Runs on the polling thread, with {@link #sdlLock} held.
+     */
+    private void pollOffThread() {
+        SDL_UpdateGamepads();
+        for (SDL3GamepadDriver driver : gamepadDriversByJid.values()) {
+            driver.pollOffThread();
+        }
+    }
+
+    private void setEventDrivenInput(boolean eventDrivenInput) {
+        if (this.eventDrivenInput == eventDrivenInput)
+            return;
+
+        this.eventDrivenInput = eventDrivenInput;
+        this.eventFilter.allowGamepadEvents = eventDrivenInput;
+        for (SDL3GamepadDriver driver : gamepadDriversByJid.values()) {
+            driver.setEventDriven(eventDrivenInput);
+        }
+    }
+
     @Override
     public void discoverControllers() {
+        sdlLock.lock();
+        try {
+            discoverControllersLocked();
+        } finally {
+            sdlLock.unlock();
+        }
+    }
+
+    private void discoverControllersLocked() {
         SDL_JoystickID[] joysticks = SDL_GetJoysticks();
         for (SDL_JoystickID jid : joysticks) {
             Optional<ControllerEntity> controllerOpt = tryCreate(
@@ -123,7 +266,23 @@ public class SDLControllerManager extends AbstractControllerManager {
 
     @Override
     protected Optional<ControllerEntity> createController(UniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo) {
-        SDL_JoystickID jid = ((SDLUniqueControllerID) ucid).jid;
+        OpenedController opened = openController((SDLUniqueControllerID) ucid, hidInfo);
+        try {
+            ControllerEntity controller = new ControllerEntity(createControllerInfo(opened), opened.drivers());
+            publishController(opened, controller);
+            return Optional.of(controller);
+        } catch (Throwable e) {
+            // nothing else holds the opened controller yet, so it would never be closed
+            opened.drivers().forEach(Driver::close);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the controller and creates its drivers, the only stage of creating a controller that makes native calls.
+     */
+    private OpenedController openController(SDLUniqueControllerID ucid, ControllerHIDService.ControllerHIDInfo hidInfo) {
+        SDL_JoystickID jid = ucid.jid;
 
         Optional<HIDIdentifier> hid = hidInfo.hidDevice().map(HIDDevice::asIdentifier);
 
@@ -141,34 +300,57 @@ public class SDLControllerManager extends AbstractControllerManager {
             }
         }
 
-        String uid = hidInfo.createControllerUID(
-                this.getControllerCountWithMatchingHID(hid.orElse(null))
-        ).orElse("unknown-uid-" + ucid);
+        int hidIndex = this.getControllerCountWithMatchingHID(hid.orElse(null));
 
+        String serial = null;
+        SDL3GamepadDriver gamepadDriver = null;
         if (isGamepad) {
             SDL_Gamepad ptrGamepad = SDLUtil.openGamepad(jid);
             if (DebugProperties.SDL_USE_SERIAL_FOR_UID) {
-                uid = useSerialForUID(SDL_GetGamepadSerial(ptrGamepad), hid).orElse(uid);
+                serial = SDL_GetGamepadSerial(ptrGamepad);
             }
 
-            drivers.add(new SDL3GamepadDriver(ptrGamepad, jid, hidInfo.type()));
+            gamepadDriver = new SDL3GamepadDriver(ptrGamepad, jid, hidInfo.type());
+            drivers.add(gamepadDriver);
         } else {
             SDL_Joystick ptrJoystick = SDLUtil.openJoystick(jid);
             if (DebugProperties.SDL_USE_SERIAL_FOR_UID) {
-                uid = useSerialForUID(SDL_GetJoystickSerial(ptrJoystick), hid).orElse(uid);
+                serial = SDL_GetJoystickSerial(ptrJoystick);
             }
 
             drivers.add(new SDL3JoystickDriver(ptrJoystick, jid, hidInfo.type()));
         }
 
-        String name = drivers.get(0).getDriverName();
         String guid = SDL_GetJoystickGUIDForID(jid).toString();
 
-        ControllerInfo info = new ControllerInfo(uid, ucid, guid, name, hidInfo.type(), hidInfo.hidDevice());
-        ControllerEntity controller = new ControllerEntity(info, drivers);
+        return new OpenedController(ucid, hidInfo, hidIndex, serial, guid, drivers, gamepadDriver);
+    }
+
+    /**
+     * Works out the identity of an opened controller.
+     */
+    private static ControllerInfo createControllerInfo(OpenedController opened) {
+        Optional<HIDIdentifier> hid = opened.hidInfo().hidDevice().map(HIDDevice::asIdentifier);
+
+        String uid = opened.hidInfo().createControllerUID(opened.hidIndex()).orElse("unknown-uid-" + opened.ucid());
+        if (DebugProperties.SDL_USE_SERIAL_FOR_UID) {
+            uid = useSerialForUID(opened.serial(), hid).orElse(uid);
+        }
+
+        String name = opened.drivers().get(0).getDriverName();
+
+        return new ControllerInfo(uid, opened.ucid(), opened.guid(), name, opened.hidInfo().type(), opened.hidInfo().hidDevice());
+    }
+
+    private void publishController(OpenedController opened, ControllerEntity controller) {
+        SDL3GamepadDriver gamepadDriver = opened.gamepadDriver();
+        if (gamepadDriver != null) {
+            gamepadDriver.setEventDriven(this.eventDrivenInput);
+            gamepadDriver.setPolledOffThread(this.polledOffThread);
+            gamepadDriversByJid.put(opened.ucid().jid().intValue(), gamepadDriver);
+        }
 
-        this.addController(ucid, controller);
-        return Optional.of(controller);
+        this.addController(opened.ucid(), controller);
     }
 
     @Override
@@ -188,6 +370,44 @@ public class SDLControllerManager extends AbstractControllerManager {
         return isControllerGamepad(ucid) ? SDL_GetGamepadNameForID(jid) : SDL_GetJoystickNameForID(jid);
     }
 
+    @Override
+    public void closeController(String uid) {
+        sdlLock.lock();
+        try {
+            ControllerEntity controller = controllersByUid.get(uid);
+            if (controller != null) {
+                gamepadDriversByJid.remove(((SDLUniqueControllerID) controller.info().ucid()).jid().intValue());
+            }
+
+            super.closeController(uid);
+        } finally {
+            sdlLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<ControllerEntity> reinitController(ControllerEntity controller, ControllerHIDService.ControllerHIDInfo hidInfo) {
+        sdlLock.lock();
+        try {
+            return super.reinitController(controller, hidInfo);
+        } finally {
+            sdlLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        pollingThread.stop();
+
+        sdlLock.lock();
+        try {
+            gamepadDriversByJid.clear();
+            super.close();
+        } finally {
+            sdlLock.unlock();
+        }
+    }
+
     private Optional<ControllerEntity> getController(UniqueControllerID ucid) {
         return Optional.ofNullable(controllersByJid.getOrDefault(ucid, null));
     }
@@ -261,6 +481,16 @@ public class SDLControllerManager extends AbstractControllerManager {
         return Optional.empty();
     }
 
+    private record OpenedController(
+            SDLUniqueControllerID ucid,
+            ControllerHIDService.ControllerHIDInfo hidInfo,
+            int hidIndex,
+            @Nullable String serial,
+            String guid,
+            List<Driver> drivers,
+            @Nullable SDL3GamepadDriver gamepadDriver
+    ) {}
+
     public record SDLUniqueControllerID(@NotNull SDL_JoystickID jid) implements UniqueControllerID {
         @Override
         public boolean equals(Object obj) {
@@ -279,12 +509,24 @@ public class SDLControllerManager extends AbstractControllerManager {
     }
 
     private static class EventFilter implements SDL_EventFilter {
+        private volatile boolean allowGamepadEvents = false;
+
         @Override
         public boolean filterEvent(Pointer userdata, SDL_Event event) {
             switch (event.type) {
                 case SDL_EVENT_JOYSTICK_ADDED:
                 case SDL_EVENT_JOYSTICK_REMOVED:
                     return true;
+                // every gyro sample is integrated, not just the latest each tick
+                case SDL_EVENT_GAMEPAD_SENSOR_UPDATE:
+                    return true;
+                case SDL_EVENT_GAMEPAD_AXIS_MOTION:
+                case SDL_EVENT_GAMEPAD_BUTTON_DOWN:
+                case SDL_EVENT_GAMEPAD_BUTTON_UP:
+                case SDL_EVENT_GAMEPAD_TOUCHPAD_DOWN:
+                case SDL_EVENT_GAMEPAD_TOUCHPAD_MOTION:
+                case SDL_EVENT_GAMEPAD_TOUCHPAD_UP:
+                    return allowGamepadEvents;
                 default:
                     return false;
             }
@@ -0,0 +1,88 @@
+package dev.isxander.controlify.debug;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how long controller input takes to reach the game, at each stage from
+ * the driver reading the controller to the frame that turns the camera with it.
+ * <p>
+ * Every stage is measured from the timestamp a driver gave its state
+ * (see {@link dev.isxander.controlify.controller.input.ModifiableControllerState#setTimestamp(long)}),
+ * apart from {@link Stage#BINDINGS} which is only the time to evaluate the bindings.
+ * Only recorded when {@link DebugProperties#INPUT_LATENCY} is enabled.
+ */
+public final class InputLatency {
+    public static final boolean ENABLED = DebugProperties.INPUT_LATENCY;
+
+    private static final LatencyStats[] STATS = new LatencyStats[Stage.values().length];
+
+    static {
+        for (int i = 0; i < STATS.length; i++) {
+            STATS[i] = new LatencyStats();
+        }
+    }
+
+    public static void record(Stage stage, long nanos) {
+        if (ENABLED) {
+            STATS[stage.ordinal()].record(nanos);
+        }
+    }
+
+    /**
+     * Records the time from a timestamp until now.
+     * @param timestamp from {@link System#nanoTime()}, 0 if unknown
+     */
+    public static void recordSince(Stage stage, long timestamp) {
+        if (ENABLED && timestamp != 0) {
+            STATS[stage.ordinal()].record(System.nanoTime() - timestamp);
+        }
+    }
+
+    public static LatencyStats stats(Stage stage) {
+        return STATS[stage.ordinal()];
+    }
+
+    public static void reset() {
+        for (LatencyStats stats : STATS) {
+            stats.reset();
+        }
+    }
+
+    /**
+     * @return a line per stage with its p50, p95 and p99
+     */
+    public static List<String> describe() {
+        List<String> lines = new ArrayList<>(STATS.length);
+        for (Stage stage : Stage.values()) {
+            LatencyStats stats = stats(stage);
+            lines.add("%s: p50 %.2fms p95 %.2fms p99 %.2fms (%d)".formatted(
+                    stage.displayName,
+                    stats.percentile(0.5) / 1_000_000d,
+                    stats.percentile(0.95) / 1_000_000d,
+                    stats.percentile(0.99) / 1_000_000d,
+                    stats.total()
+            ));
+        }
+        return lines;
+    }
+
+    public enum Stage {
+        /** driver read to the state being pushed to the input component */
+        DRIVER("Read to push"),
+        /** evaluating the bindings against a pushed state */
+        BINDINGS("Bindings"),
+        /** driver read to the in-game input handler consuming it */
+        INGAME("Read to in-game"),
+        /** driver read to the player's movement input consuming it */
+        MOVEMENT("Read to movement"),
+        /** driver read to the first frame that turns the camera with it */
+        LOOK("Read to look");
+
+        private final String displayName;
+
+        Stage(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+}
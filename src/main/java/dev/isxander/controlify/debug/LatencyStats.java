@@ -0,0 +1,49 @@
+package dev.isxander.controlify.debug;
+
+import java.util.Arrays;
+
+/**
+ * Percentiles over a window of the most recent latency samples. Safe to record from any thread.
+ */
+public final class LatencyStats {
+    private static final int WINDOW = 1024;
+
+    private final long[] samples = new long[WINDOW];
+    private final long[] sorted = new long[WINDOW];
+    private int next, count;
+    private long total;
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % WINDOW;
+        count = Math.min(count + 1, WINDOW);
+        total++;
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     * @return the latency at the given percentile of the window in nanoseconds, or 0 if nothing was recorded
+     */
+    public synchronized long percentile(double percentile) {
+        if (count == 0)
+            return 0;
+
+        System.arraycopy(samples, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /**
+     * @return the number of samples ever recorded, not just those in the window
+     */
+    public synchronized long total() {
+        return total;
+    }
+
+    public synchronized void reset() {
+        next = 0;
+        count = 0;
+        total = 0;
+    }
+}
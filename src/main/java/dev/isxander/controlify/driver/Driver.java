@@ -11,7 +11,43 @@ public interface Driver {
 
     void addComponents(ControllerEntity controller);
 
+    /**
+     * Reads the controller's latest native state into the driver, ahead of {@link #update(ControllerEntity, boolean)}.
+     * <p>
+     * This may run on a worker thread, in parallel with other controllers, if {@link #canReadInParallel()}.
+     * So it must only touch state owned by the driver itself, never the controller's components,
+     * and only make native calls that are thread-safe.
+     * The main thread waits for every read to finish before any driver is updated.
+     */
+    default void read(ControllerEntity controller) {
+    }
+
+    /**
+     * Applies the latest state to the controller's components and sends any output. Always runs on the main thread.
+     */
     void update(ControllerEntity controller, boolean outOfFocus);
 
+    /**
+     * If {@link #read(ControllerEntity)} may run on a worker thread, in parallel with other controllers.
+     * Drivers that rely on a library that must be called from the main thread must return false.
+     */
+    default boolean canReadInParallel() {
+        return false;
+    }
+
+    /**
+     * Reads the latest input into {@link dev.isxander.controlify.controller.input.InputComponent#sampleBackState()}
+     * between updates, for consumers that read input every frame.
+     * Drivers that cannot sample leave the sampled state as the last update.
+     */
+    default void sample(ControllerEntity controller) {
+    }
+
+    /**
+     * Sends any output queued on the controller's components, such as rumble, between updates.
+     */
+    default void sendOutput(ControllerEntity controller) {
+    }
+
     void close();
 }
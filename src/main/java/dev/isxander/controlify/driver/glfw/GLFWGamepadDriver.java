@@ -5,7 +5,7 @@ import dev.isxander.controlify.controller.input.GamepadInputs;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.ControllerInfo;
 import dev.isxander.controlify.controller.input.InputComponent;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import dev.isxander.controlify.controllermanager.UniqueControllerID;
 import dev.isxander.controlify.driver.Driver;
 import dev.isxander.controlify.hid.HIDDevice;
@@ -21,6 +21,7 @@ import static org.lwjgl.glfw.GLFW.*;
 public class GLFWGamepadDriver implements Driver {
     private final int jid;
     private final String guid;
+    private final GLFWGamepadState gamepadState = GLFWGamepadState.create();
 
     private InputComponent inputComponent;
 
@@ -54,7 +55,7 @@ public class GLFWGamepadDriver implements Driver {
 
     private void updateInput() {
         GLFWGamepadState glfwState = this.getGamepadState();
-        ControllerStateImpl state = new ControllerStateImpl();
+        ModifiableControllerState state = this.inputComponent.backState();
 
         state.setAxis(GamepadInputs.LEFT_STICK_AXIS_DOWN, positiveAxis(glfwState.axes(GLFW.GLFW_GAMEPAD_AXIS_LEFT_Y)));
         state.setAxis(GamepadInputs.LEFT_STICK_AXIS_RIGHT, positiveAxis(glfwState.axes(GLFW.GLFW_GAMEPAD_AXIS_LEFT_X)));
@@ -89,13 +90,12 @@ public class GLFWGamepadDriver implements Driver {
         state.setButton(GamepadInputs.DPAD_LEFT_BUTTON, glfwState.buttons(GLFW.GLFW_GAMEPAD_BUTTON_DPAD_LEFT) == GLFW.GLFW_PRESS);
         state.setButton(GamepadInputs.DPAD_RIGHT_BUTTON, glfwState.buttons(GLFW.GLFW_GAMEPAD_BUTTON_DPAD_RIGHT) == GLFW.GLFW_PRESS);
 
-        this.inputComponent.pushState(state);
+        this.inputComponent.pushState();
     }
 
     private GLFWGamepadState getGamepadState() {
-        GLFWGamepadState state = GLFWGamepadState.create();
-        glfwGetGamepadState(jid, state);
-        return state;
+        glfwGetGamepadState(jid, this.gamepadState);
+        return this.gamepadState;
     }
 
     private float positiveAxis(float value) {
@@ -4,7 +4,7 @@ import dev.isxander.controlify.controller.input.HatState;
 import dev.isxander.controlify.controller.input.JoystickInputs;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.input.InputComponent;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import dev.isxander.controlify.driver.Driver;
 import org.apache.commons.lang3.Validate;
 import org.lwjgl.glfw.GLFW;
@@ -58,7 +58,7 @@ public class GLFWJoystickDriver implements Driver {
     private void updateInput() {
         GLFWJoystickState glfwState = this.getJoystickState();
 
-        ControllerStateImpl state = new ControllerStateImpl();
+        ModifiableControllerState state = this.inputComponent.backState();
 
         for (int i = 0; i < numAxes; i++) {
             float axis = glfwState.axes().get(i);
@@ -87,7 +87,7 @@ public class GLFWJoystickDriver implements Driver {
             state.setHat(JoystickInputs.hat(i), hatState);
         }
 
-        this.inputComponent.pushState(state);
+        this.inputComponent.pushState();
     }
 
     private GLFWJoystickState getJoystickState() {
@@ -0,0 +1,87 @@
+package dev.isxander.controlify.driver.sdl;
+
+import dev.isxander.controlify.controller.haptic.HapticBufferLibrary;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Converts haptic audio to the sample rate and channel count of an audio device once,
+ * as float frames that can be mixed by a {@link dev.isxander.controlify.controller.haptic.HapticMixer}
+ * every time it plays.
+ */
+final class HapticAudioConverter {
+    private HapticAudioConverter() {
+    }
+
+    /**
+     * @return interleaved frames at the given sample rate and channel count
+     */
+    static float[] toFrames(HapticBufferLibrary.HapticBuffer buffer, int dstRate, int dstChannels) {
+        AudioFormat srcFormat = buffer.format();
+        SampleFormat src = SampleFormat.of(srcFormat);
+
+        int srcChannels = srcFormat.getChannels();
+        int channels = Math.min(srcChannels, dstChannels);
+        int srcRate = (int) srcFormat.getSampleRate();
+
+        ByteBuffer in = ByteBuffer.wrap(buffer.audio()).order(src.order());
+        int srcFrames = buffer.audio().length / (srcChannels * src.bytes());
+        int dstFrames = (int) Math.ceil((double) srcFrames * dstRate / srcRate);
+
+        float[] out = new float[dstFrames * dstChannels];
+        for (int frame = 0; frame < dstFrames; frame++) {
+            // linear resampling between the two nearest source frames
+            double srcPos = (double) frame * srcRate / dstRate;
+            int srcFrame = Math.min((int) srcPos, srcFrames - 1);
+            int nextFrame = Math.min(srcFrame + 1, srcFrames - 1);
+            float t = (float) (srcPos - srcFrame);
+
+            for (int channel = 0; channel < channels; channel++) {
+                float a = src.read(in, (srcFrame * srcChannels + channel) * src.bytes());
+                float b = src.read(in, (nextFrame * srcChannels + channel) * src.bytes());
+                out[frame * dstChannels + channel] = a + (b - a) * t;
+            }
+        }
+
+        return out;
+    }
+
+    private record SampleFormat(Kind kind, ByteOrder order) {
+        private int bytes() {
+            return kind.bytes;
+        }
+
+        private float read(ByteBuffer buf, int index) {
+            return switch (kind) {
+                case S8 -> buf.get(index) / 128f;
+                case U8 -> ((buf.get(index) & 0xFF) - 128) / 128f;
+                case S16 -> buf.getShort(index) / 32768f;
+                case S32 -> buf.getInt(index) / 2147483648f;
+                case F32 -> buf.getFloat(index);
+            };
+        }
+
+        private static SampleFormat of(AudioFormat format) {
+            AudioFormat.Encoding encoding = format.getEncoding();
+            Kind kind = switch (format.getSampleSizeInBits()) {
+                case 8 -> encoding == AudioFormat.Encoding.PCM_UNSIGNED ? Kind.U8 : Kind.S8;
+                case 16 -> Kind.S16;
+                case 32 -> encoding == AudioFormat.Encoding.PCM_FLOAT ? Kind.F32 : Kind.S32;
+                default -> throw new IllegalStateException("Unsupported haptic format: " + format);
+            };
+            return new SampleFormat(kind, format.isBigEndian() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private enum Kind {
+        S8(1), U8(1), S16(2), S32(4), F32(4);
+
+        private final int bytes;
+
+        Kind(int bytes) {
+            this.bytes = bytes;
+        }
+    }
+}
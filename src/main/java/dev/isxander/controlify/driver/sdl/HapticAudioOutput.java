@@ -0,0 +1,90 @@
+package dev.isxander.controlify.driver.sdl;
+
+import com.sun.jna.Memory;
+import dev.isxander.controlify.controller.haptic.HapticBufferLibrary;
+import dev.isxander.controlify.controller.haptic.HapticMixer;
+import dev.isxander.controlify.controller.haptic.SynthHaptic;
+import dev.isxander.sdl3java.api.audio.SDL_AudioDeviceID;
+import dev.isxander.sdl3java.api.audio.SDL_AudioFormat;
+import dev.isxander.sdl3java.api.audio.SDL_AudioSpec;
+import dev.isxander.sdl3java.api.audio.SDL_AudioStream;
+
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static dev.isxander.sdl3java.api.audio.SdlAudio.*;
+import static dev.isxander.sdl3java.api.audio.SdlAudioConsts.*;
+
+/**
+ * Plays haptics on a DualSense's audio device through one persistent audio stream.
+ * <p>
+ * Every haptic is mixed by a {@link HapticMixer}, which is rendered a block at a time into preallocated buffers
+ * and queued on the stream, keeping only {@link #QUEUE_SECONDS} of audio ahead of the device.
+ * Nothing is queued whilst no haptic is playing, so a new haptic starts as soon as it is next rendered.
+ */
+final class HapticAudioOutput {
+    /** DualSense haptics play on channels 3 and 4 */
+    private static final int HAPTIC_CHANNEL = 2;
+    private static final float QUEUE_SECONDS = 0.05f;
+
+    private final SDL_AudioStream stream;
+    private final HapticMixer mixer;
+    private final int sampleRate, channels, frameBytes;
+    private final int queueFrames;
+    private final float[] block;
+    private final Memory blockMemory;
+    // each haptic converted to the device's sample rate the first time it plays
+    private final Map<HapticBufferLibrary.HapticBuffer, float[]> convertedHaptics = new WeakHashMap<>();
+
+    HapticAudioOutput(SDL_AudioDeviceID device, SDL_AudioSpec deviceSpec) {
+        this.sampleRate = deviceSpec.freq;
+        this.channels = deviceSpec.channels;
+        this.frameBytes = channels * Float.BYTES;
+
+        // mixed as float, SDL converts to the device's format
+        SDL_AudioSpec spec = new SDL_AudioSpec();
+        spec.format = new SDL_AudioFormat(ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? SDL_AUDIO_F32BE : SDL_AUDIO_F32LE);
+        spec.channels = channels;
+        spec.freq = sampleRate;
+
+        this.stream = SDL_CreateAudioStream(spec, deviceSpec);
+        SDL_BindAudioStream(device, this.stream);
+
+        this.mixer = new HapticMixer(sampleRate, channels, HAPTIC_CHANNEL);
+        this.queueFrames = (int) Math.ceil(sampleRate * QUEUE_SECONDS);
+        this.block = new float[queueFrames * channels];
+        this.blockMemory = new Memory((long) block.length * Float.BYTES);
+    }
+
+    void play(HapticBufferLibrary.HapticBuffer haptic) {
+        mixer.play(convertedHaptics.computeIfAbsent(haptic, buffer -> HapticAudioConverter.toFrames(buffer, sampleRate, channels)));
+        update();
+    }
+
+    void play(SynthHaptic haptic) {
+        mixer.play(haptic);
+        update();
+    }
+
+    /**
+     * Tops up the stream with newly mixed audio. Called often, at least once per frame whilst playing.
+     */
+    void update() {
+        if (!mixer.isPlaying())
+            return;
+
+        int frames = queueFrames - SDL_GetAudioStreamQueued(stream) / frameBytes;
+        if (frames <= 0)
+            return;
+
+        mixer.render(block, frames);
+        blockMemory.write(0, block, 0, frames * channels);
+        SDL_PutAudioStreamData(stream, blockMemory, frames * frameBytes);
+    }
+
+    void close() {
+        mixer.stopAll();
+        SDL_DestroyAudioStream(stream);
+    }
+}
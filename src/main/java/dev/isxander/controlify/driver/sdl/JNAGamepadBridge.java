@@ -0,0 +1,60 @@
+package dev.isxander.controlify.driver.sdl;
+
+import com.sun.jna.Memory;
+import com.sun.jna.ptr.ByteByReference;
+import com.sun.jna.ptr.FloatByReference;
+import dev.isxander.controlify.utils.CUtil;
+import dev.isxander.sdl3java.api.gamepad.SDL_Gamepad;
+
+import static dev.isxander.controlify.utils.CUtil.*;
+import static dev.isxander.sdl3java.api.error.SdlError.*;
+import static dev.isxander.sdl3java.api.gamepad.SdlGamepad.*;
+import static dev.isxander.sdl3java.api.sensor.SDL_SensorType.*;
+
+/**
+ * {@link SDLGamepadBridge} through the JNA bindings.
+ * The native out-parameters are allocated once and reused for every read.
+ */
+final class JNAGamepadBridge implements SDLGamepadBridge {
+    private final Memory gyroBuffer = new Memory(3 * Float.BYTES);
+    private final ByteByReference fingerState = new ByteByReference();
+    private final FloatByReference fingerX = new FloatByReference();
+    private final FloatByReference fingerY = new FloatByReference();
+    private final FloatByReference fingerPressure = new FloatByReference();
+
+    @Override
+    public void snapshot(SDL_Gamepad gamepad, SDLGamepadSnapshot snapshot) {
+        // Axis values are in the range [-32768, 32767] (short)
+        // https://wiki.libsdl.org/SDL3/SDL_GameControllerGetAxis
+        // Triggers are in the range [0, 32767] (thanks SDL!)
+        for (int axis = 0; axis < SDLGamepadSnapshot.AXIS_COUNT; axis++) {
+            snapshot.axes[axis] = mapShortToFloat(SDL_GetGamepadAxis(gamepad, axis));
+        }
+        for (int button = 0; button < SDLGamepadSnapshot.BUTTON_COUNT; button++) {
+            snapshot.buttons[button] = SDL_GetGamepadButton(gamepad, button);
+        }
+
+        if (snapshot.hasGyro) {
+            if (SDL_GetGamepadSensorData(gamepad, SDL_SENSOR_GYRO, gyroBuffer, 3)) {
+                gyroBuffer.read(0, snapshot.gyro, 0, 3);
+            } else {
+                CUtil.LOGGER.error("Could not get gyro data: {}", SDL_GetError());
+            }
+        }
+
+        for (int touchpad = 0; touchpad < snapshot.touchpadCount(); touchpad++) {
+            for (int finger = 0; finger < snapshot.fingerDown[touchpad].length; finger++) {
+                if (!SDL_GetGamepadTouchpadFinger(gamepad, touchpad, finger, fingerState, fingerX, fingerY, fingerPressure)) {
+                    CUtil.LOGGER.error("Failed to fetch touchpad finger: {}", SDL_GetError());
+                    snapshot.fingerDown[touchpad][finger] = false;
+                } else {
+                    snapshot.fingerDown[touchpad][finger] = fingerState.getValue() == 1;
+                    // SDL already returns the correct range for touchpad position and pressure
+                    snapshot.fingerX[touchpad][finger] = fingerX.getValue();
+                    snapshot.fingerY[touchpad][finger] = fingerY.getValue();
+                    snapshot.fingerPressure[touchpad][finger] = fingerPressure.getValue();
+                }
+            }
+        }
+    }
+}
@@ -1,39 +1,82 @@
 package dev.isxander.controlify.driver.sdl;
 
-import com.sun.jna.Memory;
 import com.sun.jna.Pointer;
-import com.sun.jna.ptr.ByteByReference;
-import com.sun.jna.ptr.FloatByReference;
 import com.sun.jna.ptr.IntByReference;
 import dev.isxander.controlify.controller.id.ControllerType;
 import dev.isxander.controlify.controller.touchpad.TouchpadComponent;
 import dev.isxander.controlify.controller.gyro.GyroComponent;
+import dev.isxander.controlify.controller.gyro.GyroIntegrator;
 import dev.isxander.controlify.controller.input.GamepadInputs;
 import dev.isxander.controlify.controller.gyro.GyroState;
 import dev.isxander.controlify.controller.*;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.ButtonEdgeTracker;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.controller.input.InputSlots;
 import dev.isxander.controlify.controller.touchpad.Touchpads;
-import dev.isxander.controlify.utils.CUtil;
+import dev.isxander.sdl3java.api.events.events.SDL_Event;
 import dev.isxander.sdl3java.api.gamepad.SDL_Gamepad;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickGUID;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickID;
 import dev.isxander.sdl3java.api.properties.SDL_PropertiesID;
 import dev.isxander.sdl3java.api.sensor.SDL_SensorType;
-import org.joml.Vector2f;
+import net.minecraft.resources.ResourceLocation;
+import dev.isxander.controlify.utils.TripleBuffer;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.stream.IntStream;
 
 import static dev.isxander.controlify.utils.CUtil.*;
-import static dev.isxander.sdl3java.api.error.SdlError.*;
+import static dev.isxander.sdl3java.api.events.SDL_EventType.*;
 import static dev.isxander.sdl3java.api.gamepad.SDL_GamepadAxis.*;
 import static dev.isxander.sdl3java.api.gamepad.SDL_GamepadButton.*;
 import static dev.isxander.sdl3java.api.gamepad.SdlGamepad.*;
 import static dev.isxander.sdl3java.api.sensor.SDL_SensorType.*;
 
 public class SDL3GamepadDriver extends SDLCommonDriver<SDL_Gamepad> {
+    /** input slot of each SDL button, indexed by the SDL enum value */
+    private static final int[] BUTTON_SLOTS = new int[SDLGamepadSnapshot.BUTTON_COUNT];
+
+    static {
+        mapButton(SDL_GAMEPAD_BUTTON_SOUTH, GamepadInputs.SOUTH_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_EAST, GamepadInputs.EAST_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_WEST, GamepadInputs.WEST_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_NORTH, GamepadInputs.NORTH_BUTTON);
+
+        mapButton(SDL_GAMEPAD_BUTTON_LEFT_SHOULDER, GamepadInputs.LEFT_SHOULDER_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_RIGHT_SHOULDER, GamepadInputs.RIGHT_SHOULDER_BUTTON);
+
+        mapButton(SDL_GAMEPAD_BUTTON_BACK, GamepadInputs.BACK_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_START, GamepadInputs.START_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_GUIDE, GamepadInputs.GUIDE_BUTTON);
+
+        mapButton(SDL_GAMEPAD_BUTTON_DPAD_UP, GamepadInputs.DPAD_UP_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_DPAD_DOWN, GamepadInputs.DPAD_DOWN_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_DPAD_LEFT, GamepadInputs.DPAD_LEFT_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_DPAD_RIGHT, GamepadInputs.DPAD_RIGHT_BUTTON);
+
+        mapButton(SDL_GAMEPAD_BUTTON_LEFT_STICK, GamepadInputs.LEFT_STICK_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_RIGHT_STICK, GamepadInputs.RIGHT_STICK_BUTTON);
+
+        // Additional inputs
+        mapButton(SDL_GAMEPAD_BUTTON_MISC1, GamepadInputs.MISC_1_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_MISC2, GamepadInputs.MISC_2_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_MISC3, GamepadInputs.MISC_3_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_MISC4, GamepadInputs.MISC_4_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_MISC5, GamepadInputs.MISC_5_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_MISC6, GamepadInputs.MISC_6_BUTTON);
+
+        mapButton(SDL_GAMEPAD_BUTTON_LEFT_PADDLE1, GamepadInputs.LEFT_PADDLE_1_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_LEFT_PADDLE2, GamepadInputs.LEFT_PADDLE_2_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_RIGHT_PADDLE1, GamepadInputs.RIGHT_PADDLE_1_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_RIGHT_PADDLE2, GamepadInputs.RIGHT_PADDLE_2_BUTTON);
+        mapButton(SDL_GAMEPAD_BUTTON_TOUCHPAD, GamepadInputs.TOUCHPAD_1_BUTTON);
+    }
+
+    private static void mapButton(int sdlButton, ResourceLocation button) {
+        BUTTON_SLOTS[sdlButton] = InputSlots.BUTTONS.slot(button);
+    }
     
     private InputComponent inputComponent;
     private GyroComponent gyroComponent;
@@ -42,13 +85,51 @@ public class SDL3GamepadDriver extends SDLCommonDriver<SDL_Gamepad> {
     private final boolean isGryoSupported;
 
     private final int numTouchpads;
+
+    // latest known state, refreshed by the bridge or by events depending on the mode
+    private final SDLGamepadSnapshot snapshot;
+    private final SDLGamepadBridge bridge;
+    // counts every press and release seen between updates, indexed by SDL button
+    private final ButtonEdgeTracker buttonEdges = new ButtonEdgeTracker(SDLGamepadSnapshot.BUTTON_COUNT);
+
+    private boolean eventDriven;
+    private boolean eventStateSeeded;
+    // when the first input event since the last update was received, 0 if none
+    private long firstEventTimestamp;
+
+    // every gyro sensor event is integrated, regardless of event driven input
+    private final GyroIntegrator gyroIntegrator = new GyroIntegrator();
+    private final GyroState gyroDisplacement = new GyroState();
+    private boolean gyroEventsReceived;
+
+    // set when polled off-thread, see pollOffThread
+    private @Nullable TripleBuffer<SDLGamepadSnapshot> polledSnapshots;
+    // owned by the polling thread
+    private final boolean[] polledButtons = new boolean[SDLGamepadSnapshot.BUTTON_COUNT];
+    private final long[] polledPresses = new long[SDLGamepadSnapshot.BUTTON_COUNT];
+    private final long[] polledReleases = new long[SDLGamepadSnapshot.BUTTON_COUNT];
+    // owned by the main thread, the counts of the last consumed snapshot
+    private final long[] consumedPresses = new long[SDLGamepadSnapshot.BUTTON_COUNT];
+    private final long[] consumedReleases = new long[SDLGamepadSnapshot.BUTTON_COUNT];
     
     public SDL3GamepadDriver(SDL_Gamepad ptrController, SDL_JoystickID jid, ControllerType type) {
+        this(ptrController, jid, type, SDLGamepadBridge.create());
+    }
+
+    public SDL3GamepadDriver(SDL_Gamepad ptrController, SDL_JoystickID jid, ControllerType type, SDLGamepadBridge bridge) {
         super(ptrController, jid, type);
  
         this.isGryoSupported = SDL_GamepadHasSensor(ptrController, SDL_SensorType.SDL_SENSOR_GYRO);
         this.numTouchpads = SDL_GetNumGamepadTouchpads(ptrController);
 
+        this.bridge = bridge;
+        this.snapshot = new SDLGamepadSnapshot(
+                this.isGryoSupported,
+                IntStream.range(0, Math.max(0, numTouchpads))
+                        .map(i -> SDL_GetNumGamepadTouchpadFingers(ptrController, i))
+                        .toArray()
+        );
+
         if (this.isGryoSupported) {
             SDL_SetGamepadSensorEnabled(ptrController, SDL_SensorType.SDL_SENSOR_GYRO, true);
         }
@@ -81,7 +162,7 @@ public class SDL3GamepadDriver extends SDLCommonDriver<SDL_Gamepad> {
                             IntStream.range(0, numTouchpads)
                                 .mapToObj(i ->
                                         new Touchpads.Touchpad(
-                                                SDL_GetNumGamepadTouchpadFingers(ptrController, i)
+                                                this.snapshot.fingerDown[i].length
                                         )
                                 ).toArray(Touchpads.Touchpad[]::new)
                     )
@@ -89,116 +170,269 @@ public class SDL3GamepadDriver extends SDLCommonDriver<SDL_Gamepad> {
         }
     }
     
+    @Override
+    public void read(ControllerEntity controller) {
+        if (ptrController == null)
+            return;
+
+        TripleBuffer<SDLGamepadSnapshot> polledSnapshots = this.polledSnapshots;
+        if (polledSnapshots != null) {
+            this.consumePolledSnapshot(polledSnapshots);
+        } else {
+            if (!this.eventDriven || !this.eventStateSeeded) {
+                // the first update in event mode still polls, to know the state before any events arrived
+                this.bridge.snapshot(ptrController, this.snapshot);
+                this.snapshot.timestamp = System.nanoTime();
+                this.eventStateSeeded = this.eventDriven;
+            } else {
+                this.snapshot.timestamp = this.firstEventTimestamp != 0 ? this.firstEventTimestamp : System.nanoTime();
+            }
+            this.firstEventTimestamp = 0;
+            this.observeButtons();
+        }
+    }
+
+    @Override
+    public boolean canReadInParallel() {
+        // reading only fills this driver's snapshot, and SDL locks its joysticks internally
+        return true;
+    }
+
     @Override
     public void update(ControllerEntity controller, boolean outOfFocus) {
         super.update(controller, outOfFocus);
-        
+
         this.updateInput();
         this.updateGyro();
         this.updateTouchpad();
     }
 
-    private void updateInput() {
-        ControllerStateImpl state = new ControllerStateImpl();
-        // Axis values are in the range [-32768, 32767] (short)
-        // https://wiki.libsdl.org/SDL3/SDL_GameControllerGetAxis
-        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_RIGHT, positiveAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_LEFTX))));
-        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_LEFT, negativeAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_LEFTX))));
-        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_UP, negativeAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_LEFTY))));
-        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_DOWN, positiveAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_LEFTY))));
-
-        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_RIGHT, positiveAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_RIGHTX))));
-        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_LEFT, negativeAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_RIGHTX))));
-        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_UP, negativeAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_RIGHTY))));
-        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_DOWN, positiveAxis(mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_RIGHTY))));
-
-        // Triggers are in the range [0, 32767] (thanks SDL!)
-        state.setAxis(GamepadInputs.LEFT_TRIGGER_AXIS, mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_LEFT_TRIGGER)));
-        state.setAxis(GamepadInputs.RIGHT_TRIGGER_AXIS, mapShortToFloat(SDL_GetGamepadAxis(ptrController, SDL_GAMEPAD_AXIS_RIGHT_TRIGGER)));
-
-        state.setButton(GamepadInputs.SOUTH_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_SOUTH));
-        state.setButton(GamepadInputs.EAST_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_EAST));
-        state.setButton(GamepadInputs.WEST_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_WEST));
-        state.setButton(GamepadInputs.NORTH_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_NORTH));
-
-        state.setButton(GamepadInputs.LEFT_SHOULDER_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_LEFT_SHOULDER));
-        state.setButton(GamepadInputs.RIGHT_SHOULDER_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_RIGHT_SHOULDER));
-
-        state.setButton(GamepadInputs.BACK_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_BACK));
-        state.setButton(GamepadInputs.START_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_START));
-        state.setButton(GamepadInputs.GUIDE_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_GUIDE));
-
-        state.setButton(GamepadInputs.DPAD_UP_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_DPAD_UP));
-        state.setButton(GamepadInputs.DPAD_DOWN_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_DPAD_DOWN));
-        state.setButton(GamepadInputs.DPAD_LEFT_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_DPAD_LEFT));
-        state.setButton(GamepadInputs.DPAD_RIGHT_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_DPAD_RIGHT));
-
-        state.setButton(GamepadInputs.LEFT_STICK_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_LEFT_STICK));
-        state.setButton(GamepadInputs.RIGHT_STICK_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_RIGHT_STICK));
+    /**
+     * Switches to reading the latest snapshot published by {@link #pollOffThread()},
+     * rather than reading the controller during {@link #update(ControllerEntity, boolean)}.
+     * Must not be called concurrently with {@link #pollOffThread()}.
+     */
+    public void setPolledOffThread(boolean polledOffThread) {
+        if (polledOffThread == (this.polledSnapshots != null))
+            return;
+
+        this.polledSnapshots = polledOffThread ? new TripleBuffer<>(this.snapshot::copyShape) : null;
+        for (int button = 0; button < SDLGamepadSnapshot.BUTTON_COUNT; button++) {
+            this.polledButtons[button] = this.buttonEdges.isDown(button);
+        }
+        Arrays.fill(this.polledPresses, 0);
+        Arrays.fill(this.polledReleases, 0);
+        Arrays.fill(this.consumedPresses, 0);
+        Arrays.fill(this.consumedReleases, 0);
+    }
 
-        // Additional inputs
-        state.setButton(GamepadInputs.MISC_1_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_MISC1));
-        state.setButton(GamepadInputs.MISC_2_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_MISC2));
-        state.setButton(GamepadInputs.MISC_3_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_MISC3));
-        state.setButton(GamepadInputs.MISC_4_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_MISC4));
-        state.setButton(GamepadInputs.MISC_5_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_MISC5));
-        state.setButton(GamepadInputs.MISC_6_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_MISC6));
+    /**
+     * Reads the controller and publishes the snapshot for the next update to consume.
+     * Called from the input polling thread, the controller manager guarantees
+     * no other native calls are made to this controller at the same time.
+     */
+    public void pollOffThread() {
+        TripleBuffer<SDLGamepadSnapshot> polledSnapshots = this.polledSnapshots;
+        if (polledSnapshots == null || ptrController == null)
+            return;
+
+        SDLGamepadSnapshot snapshot = polledSnapshots.writeBuffer();
+        this.bridge.snapshot(ptrController, snapshot);
+        snapshot.timestamp = System.nanoTime();
+
+        // count every edge seen by each poll, so presses shorter than a tick survive
+        // any number of snapshots the main thread skips over
+        for (int button = 0; button < SDLGamepadSnapshot.BUTTON_COUNT; button++) {
+            boolean down = snapshot.buttons[button];
+            if (down != this.polledButtons[button]) {
+                if (down) this.polledPresses[button]++;
+                else this.polledReleases[button]++;
+                this.polledButtons[button] = down;
+            }
+        }
+        System.arraycopy(this.polledPresses, 0, snapshot.buttonPresses, 0, SDLGamepadSnapshot.BUTTON_COUNT);
+        System.arraycopy(this.polledReleases, 0, snapshot.buttonReleases, 0, SDLGamepadSnapshot.BUTTON_COUNT);
 
-        state.setButton(GamepadInputs.LEFT_PADDLE_1_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_LEFT_PADDLE1));
-        state.setButton(GamepadInputs.LEFT_PADDLE_2_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_LEFT_PADDLE2));
-        state.setButton(GamepadInputs.RIGHT_PADDLE_1_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_RIGHT_PADDLE1));
-        state.setButton(GamepadInputs.RIGHT_PADDLE_2_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_RIGHT_PADDLE2));
-        state.setButton(GamepadInputs.TOUCHPAD_1_BUTTON, SDL_GetGamepadButton(ptrController, SDL_GAMEPAD_BUTTON_TOUCHPAD));
+        polledSnapshots.publish();
+    }
 
-        this.inputComponent.pushState(state);
+    private void consumePolledSnapshot(TripleBuffer<SDLGamepadSnapshot> polledSnapshots) {
+        if (!polledSnapshots.acquire())
+            return;
+
+        SDLGamepadSnapshot polled = polledSnapshots.readBuffer();
+        this.snapshot.copyFrom(polled);
+        for (int button = 0; button < SDLGamepadSnapshot.BUTTON_COUNT; button++) {
+            long presses = polled.buttonPresses[button], releases = polled.buttonReleases[button];
+            this.buttonEdges.observe(
+                    button,
+                    (int) (presses - this.consumedPresses[button]),
+                    (int) (releases - this.consumedReleases[button]),
+                    polled.buttons[button]
+            );
+            this.consumedPresses[button] = presses;
+            this.consumedReleases[button] = releases;
+        }
     }
-    
-    private void updateGyro() {
-        if (!isGryoSupported) return;
 
-        float[] gyro = new float[3];
+    /**
+     * Switches between reading input from SDL events routed by the controller manager
+     * with {@link #handleEvent(SDL_Event)}, and polling the full state every tick.
+     */
+    public void setEventDriven(boolean eventDriven) {
+        if (this.eventDriven != eventDriven) {
+            this.eventDriven = eventDriven;
+            this.eventStateSeeded = false;
+        }
+    }
 
-        try (Memory memory = new Memory(gyro.length * Float.BYTES)) {
-            if (SDL_GetGamepadSensorData(ptrController, SDL_SENSOR_GYRO, memory, 3)) {
-                memory.read(0, gyro, 0, gyro.length);
+    /**
+     * Applies a gamepad event for this controller to the snapshot.
+     * Gyro sensor events are always routed here, the rest only when {@link #setEventDriven(boolean) event driven}.
+     */
+    public void handleEvent(SDL_Event event) {
+        SDLGamepadSnapshot snapshot = this.snapshot;
+
+        switch (event.type) {
+            case SDL_EVENT_GAMEPAD_AXIS_MOTION -> {
+                int axis = event.gaxis.axis;
+                if (axis >= 0 && axis < SDLGamepadSnapshot.AXIS_COUNT) {
+                    this.markEventReceived();
+                    snapshot.axes[axis] = mapShortToFloat(event.gaxis.value);
+                }
+            }
+            case SDL_EVENT_GAMEPAD_BUTTON_DOWN, SDL_EVENT_GAMEPAD_BUTTON_UP -> {
+                int button = event.gbutton.button;
+                if (button >= 0 && button < SDLGamepadSnapshot.BUTTON_COUNT) {
+                    this.markEventReceived();
+                    boolean down = event.gbutton.down;
+                    snapshot.buttons[button] = down;
+                    this.buttonEdges.observe(button, down);
+                }
+            }
+            case SDL_EVENT_GAMEPAD_SENSOR_UPDATE -> {
+                if (event.gsensor.sensor == SDL_SENSOR_GYRO) {
+                    float[] data = event.gsensor.data;
+                    System.arraycopy(data, 0, snapshot.gyro, 0, 3);
+                    this.gyroIntegrator.push(event.gsensor.sensor_timestamp, data[0], data[1], data[2]);
+                    this.gyroEventsReceived = true;
+                }
+            }
+            case SDL_EVENT_GAMEPAD_TOUCHPAD_DOWN, SDL_EVENT_GAMEPAD_TOUCHPAD_MOTION, SDL_EVENT_GAMEPAD_TOUCHPAD_UP -> {
+                int touchpad = event.gtouchpad.touchpad;
+                int finger = event.gtouchpad.finger;
+                if (touchpad >= 0 && touchpad < snapshot.touchpadCount() && finger >= 0 && finger < snapshot.fingerDown[touchpad].length) {
+                    this.markEventReceived();
+                    snapshot.fingerDown[touchpad][finger] = event.type != SDL_EVENT_GAMEPAD_TOUCHPAD_UP;
+                    snapshot.fingerX[touchpad][finger] = event.gtouchpad.x;
+                    snapshot.fingerY[touchpad][finger] = event.gtouchpad.y;
+                    snapshot.fingerPressure[touchpad][finger] = event.gtouchpad.pressure;
+                }
+            }
+        }
+    }
 
-                this.gyroComponent.setState(
-                        new GyroState(gyro[0], gyro[1], gyro[2])
-                );
-            } else {
-                CUtil.LOGGER.error("Could not get gyro data: {}", SDL_GetError());
+    @Override
+    public void sample(ControllerEntity controller) {
+        if (ptrController == null)
+            return;
+
+        TripleBuffer<SDLGamepadSnapshot> polledSnapshots = this.polledSnapshots;
+        if (polledSnapshots != null) {
+            this.consumePolledSnapshot(polledSnapshots);
+        } else if (!this.eventDriven) {
+            // when event driven, the controller manager has already applied this frame's events to the snapshot.
+            // polling as well would see the same edges as those events, and count them twice
+            this.bridge.snapshot(ptrController, this.snapshot);
+            this.snapshot.timestamp = System.nanoTime();
+            // the next update may read a snapshot where a press seen here has already been released
+            this.observeButtons();
+        }
+
+        ModifiableControllerState state = this.inputComponent.sampleBackState();
+        state.setTimestamp(this.snapshot.timestamp);
+        this.writeAxes(state);
+        for (int button = 0; button < SDLGamepadSnapshot.BUTTON_COUNT; button++) {
+            state.setButton(BUTTON_SLOTS[button], this.buttonEdges.isDown(button));
+        }
+        this.inputComponent.pushSample();
+        this.updateGyro();
+    }
+
+    private void markEventReceived() {
+        if (this.firstEventTimestamp == 0)
+            this.firstEventTimestamp = System.nanoTime();
+    }
+
+    private void observeButtons() {
+        boolean[] buttons = this.snapshot.buttons;
+        for (int button = 0; button < SDLGamepadSnapshot.BUTTON_COUNT; button++) {
+            this.buttonEdges.observe(button, buttons[button]);
+        }
+    }
+
+    private void updateInput() {
+        ModifiableControllerState state = this.inputComponent.backState();
+        state.setTimestamp(this.snapshot.timestamp);
+        this.writeAxes(state);
+        for (int button = 0; button < SDLGamepadSnapshot.BUTTON_COUNT; button++) {
+            this.buttonEdges.write(state, BUTTON_SLOTS[button], button);
+        }
+
+        this.inputComponent.pushState();
+    }
+
+    private void writeAxes(ModifiableControllerState state) {
+        float[] axes = this.snapshot.axes;
+
+        float leftX = axes[SDL_GAMEPAD_AXIS_LEFTX];
+        float leftY = axes[SDL_GAMEPAD_AXIS_LEFTY];
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_RIGHT, positiveAxis(leftX));
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_LEFT, negativeAxis(leftX));
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_UP, negativeAxis(leftY));
+        state.setAxis(GamepadInputs.LEFT_STICK_AXIS_DOWN, positiveAxis(leftY));
+
+        float rightX = axes[SDL_GAMEPAD_AXIS_RIGHTX];
+        float rightY = axes[SDL_GAMEPAD_AXIS_RIGHTY];
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_RIGHT, positiveAxis(rightX));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_LEFT, negativeAxis(rightX));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_UP, negativeAxis(rightY));
+        state.setAxis(GamepadInputs.RIGHT_STICK_AXIS_DOWN, positiveAxis(rightY));
+
+        state.setAxis(GamepadInputs.LEFT_TRIGGER_AXIS, axes[SDL_GAMEPAD_AXIS_LEFT_TRIGGER]);
+        state.setAxis(GamepadInputs.RIGHT_TRIGGER_AXIS, axes[SDL_GAMEPAD_AXIS_RIGHT_TRIGGER]);
+    }
+
+    private void updateGyro() {
+        if (!isGryoSupported) return;
+
+        if (this.gyroEventsReceived) {
+            // between samples, the last integrated velocity still holds
+            float seconds = this.gyroIntegrator.integrate(this.gyroDisplacement);
+            if (seconds > 0) {
+                this.gyroComponent.setIntegratedState(this.gyroDisplacement, seconds);
             }
+        } else {
+            float[] gyro = this.snapshot.gyro;
+            this.gyroComponent.setState(
+                    new GyroState(gyro[0], gyro[1], gyro[2])
+            );
         }
     }
 
     private void updateTouchpad() {
         if (numTouchpads < 1) return;
 
+        SDLGamepadSnapshot snapshot = this.snapshot;
         for (int touchpadIdx = 0; touchpadIdx < numTouchpads; touchpadIdx++) {
             Touchpads.Touchpad touchpad = this.touchpadComponent.touchpads()[touchpadIdx];
 
-            List<Touchpads.Finger> fingers = new ArrayList<>();
-            for (int fingerIdx = 0; fingerIdx < touchpad.maxFingers(); fingerIdx++) {
-                var fingerState = new ByteByReference();
-                var x = new FloatByReference();
-                var y = new FloatByReference();
-                var pressure = new FloatByReference();
-
-                if (!SDL_GetGamepadTouchpadFinger(ptrController, touchpadIdx, fingerIdx, fingerState, x, y, pressure)) {
-                    CUtil.LOGGER.error("Failed to fetch touchpad finger: {}", SDL_GetError());
-                } else if (fingerState.getValue() == 1) {
-                    fingers.add(
-                            new Touchpads.Finger(
-                                    fingerIdx,
-                                    // SDL already returns the correct range for touchpad position and pressure
-                                    new Vector2f(x.getValue(), y.getValue()),
-                                    pressure.getValue()
-                            )
-                    );
-                }
-            }
-
-            touchpad.pushFingers(fingers);
+            touchpad.pushFingers(
+                    snapshot.fingerDown[touchpadIdx],
+                    snapshot.fingerX[touchpadIdx],
+                    snapshot.fingerY[touchpadIdx],
+                    snapshot.fingerPressure[touchpadIdx]
+            );
         }
     }
 
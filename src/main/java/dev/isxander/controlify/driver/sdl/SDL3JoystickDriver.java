@@ -7,7 +7,7 @@ import dev.isxander.controlify.controller.input.HatState;
 import dev.isxander.controlify.controller.input.InputComponent;
 import dev.isxander.controlify.controller.input.JoystickInputs;
 import dev.isxander.controlify.controller.*;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import dev.isxander.sdl3java.api.joystick.SDL_Joystick;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickGUID;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickID;
@@ -47,7 +47,7 @@ public class SDL3JoystickDriver extends SDLCommonDriver<SDL_Joystick> {
     }
 
     private void updateInput() {
-        ControllerStateImpl state = new ControllerStateImpl();
+        ModifiableControllerState state = this.inputComponent.backState();
 
         for (int i = 0; i < numAxes; i++) {
             float axis = mapShortToFloat(SDL_GetJoystickAxis(ptrController, i));
@@ -77,7 +77,7 @@ public class SDL3JoystickDriver extends SDLCommonDriver<SDL_Joystick> {
             state.setHat(JoystickInputs.hat(i), hatState);
         }
 
-        this.inputComponent.pushState(state);
+        this.inputComponent.pushState();
     }
 
     private static float mapShortToFloat(short value) {
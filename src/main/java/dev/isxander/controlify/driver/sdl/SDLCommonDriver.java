@@ -1,7 +1,5 @@
 package dev.isxander.controlify.driver.sdl;
 
-import com.sun.jna.Memory;
-import com.sun.jna.Native;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.IntByReference;
 import dev.isxander.controlify.controller.ControllerEntity;
@@ -10,19 +8,19 @@ import dev.isxander.controlify.controller.battery.PowerState;
 import dev.isxander.controlify.controller.dualsense.DualSenseComponent;
 import dev.isxander.controlify.controller.haptic.HDHapticComponent;
 import dev.isxander.controlify.controller.haptic.HapticBufferLibrary;
+import dev.isxander.controlify.controller.haptic.SynthHaptic;
 import dev.isxander.controlify.controller.id.ControllerType;
 import dev.isxander.controlify.controller.misc.BluetoothDeviceComponent;
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
 import dev.isxander.controlify.controller.rumble.TriggerRumbleComponent;
 import dev.isxander.controlify.driver.Driver;
 import dev.isxander.controlify.driver.sdl.dualsense.DS5EffectsState;
+import dev.isxander.controlify.driver.sdl.dualsense.DS5EffectsWriter;
 import dev.isxander.controlify.rumble.RumbleState;
 import dev.isxander.controlify.rumble.TriggerRumbleState;
 import dev.isxander.controlify.utils.CUtil;
 import dev.isxander.sdl3java.api.audio.SDL_AudioDeviceID;
-import dev.isxander.sdl3java.api.audio.SDL_AudioFormat;
 import dev.isxander.sdl3java.api.audio.SDL_AudioSpec;
-import dev.isxander.sdl3java.api.audio.SDL_AudioStream;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickGUID;
 import dev.isxander.sdl3java.api.joystick.SDL_JoystickID;
 import dev.isxander.sdl3java.api.power.SDL_PowerState;
@@ -31,21 +29,15 @@ import net.minecraft.Util;
 import org.intellij.lang.annotations.MagicConstant;
 import org.jetbrains.annotations.Nullable;
 
-import javax.sound.sampled.AudioFormat;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 import static dev.isxander.sdl3java.api.audio.SdlAudio.*;
-import static dev.isxander.sdl3java.api.audio.SdlAudioConsts.*;
 import static dev.isxander.sdl3java.api.error.SdlError.*;
 import static dev.isxander.sdl3java.api.gamepad.SdlGamepadPropsConst.*;
 import static dev.isxander.sdl3java.api.power.SDL_PowerState.*;
 import static dev.isxander.sdl3java.api.properties.SdlProperties.*;
 
 public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
-    private static final int AUDIO_STREAM_TIMEOUT_TICKS = 5 * 60 * 60 * 20; // 5 minutes
-
     protected SDL_Controller ptrController;
 
     protected BatteryLevelComponent batteryLevelComponent;
@@ -53,6 +45,8 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
     protected TriggerRumbleComponent triggerRumbleComponent;
     protected HDHapticComponent hdHapticComponent;
     protected DualSenseComponent dualSenseComponent;
+    private DS5EffectsWriter dualSenseEffects;
+    private boolean dualSenseEffectsHeldBack;
     
     protected final boolean isRumbleSupported, isTriggerRumbleSupported;
     protected final boolean isDualsense;
@@ -66,7 +60,12 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
     protected SDL_AudioDeviceID dualsenseAudioDev;
     @Nullable
     protected SDL_AudioSpec dualsenseAudioSpec;
-    protected final List<AudioStreamHandle> dualsenseAudioHandles;
+    @Nullable
+    private HapticAudioOutput dualsenseHapticOutput;
+
+    // reused every tick rather than allocating a new out-parameter
+    private final IntByReference powerPercent = new IntByReference();
+    private int lastPowerState = Integer.MIN_VALUE, lastPowerPercent = -1;
     
     public SDLCommonDriver(SDL_Controller ptrController, SDL_JoystickID jid, ControllerType type) {
         this.ptrController = ptrController;
@@ -80,8 +79,6 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
         this.isTriggerRumbleSupported = SDL_GetBooleanProperty(props, SDL_PROP_GAMEPAD_CAP_TRIGGER_RUMBLE_BOOLEAN, false);
 
         // open audio device for dualsense hd haptics
-        this.dualsenseAudioHandles = new ArrayList<>();
-
         if (CUtil.rl("dualsense").equals(type.namespace())) {
             this.isDualsense = true;
 
@@ -104,6 +101,7 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
                 if (dualsenseAudioDev != null) {
                     this.dualsenseAudioSpec = devSpec;
                     this.dualsenseAudioDev = SDL_OpenAudioDevice(dualsenseAudioDev, (SDL_AudioSpec.ByReference) this.dualsenseAudioSpec);
+                    this.dualsenseHapticOutput = new HapticAudioOutput(this.dualsenseAudioDev, this.dualsenseAudioSpec);
                 }
             }
         } else {
@@ -122,10 +120,12 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
         }
         if (this.isDualsense) {
             controller.setComponent(this.dualSenseComponent = new DualSenseComponent());
+            this.dualSenseEffects = new DS5EffectsWriter(this::sendDualSenseEffects);
         }
         if (this.dualsenseAudioDev != null) {
             controller.setComponent(this.hdHapticComponent = new HDHapticComponent());
             this.hdHapticComponent.acceptPlayHaptic(this::playHaptic);
+            this.hdHapticComponent.acceptPlaySynth(this::playSynthHaptic);
         }
         
         if (isBluetooth()) {
@@ -150,6 +150,15 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
         updateHDHaptic();
     }
 
+    @Override
+    public void sendOutput(ControllerEntity controller) {
+        if (ptrController == null)
+            return;
+
+        updateRumble();
+        updateHDHaptic();
+    }
+
     @Override
     public void close() {
         if (ptrController == null) {
@@ -160,11 +169,12 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
         ptrController = null;
         
         if (dualsenseAudioDev != null) {
+            if (dualsenseHapticOutput != null) {
+                dualsenseHapticOutput.close();
+                dualsenseHapticOutput = null;
+            }
             SDL_CloseAudioDevice(dualsenseAudioDev);
             dualsenseAudioDev = null;
-            for (AudioStreamHandle handle : dualsenseAudioHandles) {
-                handle.close();
-            }
         }
     }
     
@@ -191,14 +201,19 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
     }
 
     private void updateBatteryLevel() {
-        IntByReference percent = new IntByReference();
-        int powerState = SDL_GetControllerPowerInfo(ptrController, percent);
+        int powerState = SDL_GetControllerPowerInfo(ptrController, this.powerPercent);
+        int percent = this.powerPercent.getValue();
+
+        if (powerState == this.lastPowerState && percent == this.lastPowerPercent)
+            return;
+        this.lastPowerState = powerState;
+        this.lastPowerPercent = percent;
 
         PowerState level = switch (powerState) {
             case SDL_POWERSTATE_ERROR, SDL_POWERSTATE_UNKNOWN -> new PowerState.Unknown();
-            case SDL_POWERSTATE_ON_BATTERY -> new PowerState.Depleting(percent.getValue());
+            case SDL_POWERSTATE_ON_BATTERY -> new PowerState.Depleting(percent);
             case SDL_POWERSTATE_NO_BATTERY -> new PowerState.WiredOnly();
-            case SDL_POWERSTATE_CHARGING -> new PowerState.Charging(percent.getValue());
+            case SDL_POWERSTATE_CHARGING -> new PowerState.Charging(percent);
             case SDL_POWERSTATE_CHARGED -> new PowerState.Full();
             default -> throw new IllegalStateException("Unexpected value");
         };
@@ -209,105 +224,45 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
     private void updateDualSense() {
         if (dualSenseComponent == null) return;
 
-        DS5EffectsState.ByValue effectsState = new DS5EffectsState.ByValue();
-
-        if (this.dualSenseComponent.consumeDirty()) {
-            // Left Trigger Effect
-            effectsState.ucEnableBits1 |= DS5EffectsState.EnableBitFlags1.ALLOW_LEFT_TRIGGER_FFB;
-            effectsState.rgucLeftTriggerEffect = this.dualSenseComponent.getLeftTriggerEffect();
-
-            // Right Trigger Effect
-            effectsState.ucEnableBits1 |= DS5EffectsState.EnableBitFlags1.ALLOW_RIGHT_TRIGGER_FFB;
-            effectsState.rgucRightTriggerEffect = this.dualSenseComponent.getRightTriggerEffect();
-
-            // Mute Light
-            effectsState.ucEnableBits2 |= DS5EffectsState.EnableBitFlags2.ALLOW_MUTE_LIGHT;
-            effectsState.ucMicLightMode = (byte) (this.dualSenseComponent.getMuteLight() ? 1 : 0);
-
-            effectsState.write();
+        // keep writing while a change is held back by the rate limit, even if nothing else changes
+        if (this.dualSenseComponent.consumeDirty() || this.dualSenseEffectsHeldBack) {
+            this.dualSenseEffectsHeldBack = this.dualSenseEffects.write(
+                    this.dualSenseComponent.getLeftTriggerEffect(),
+                    this.dualSenseComponent.getRightTriggerEffect(),
+                    this.dualSenseComponent.getMuteLight(),
+                    System.nanoTime()
+            );
+        }
+    }
 
-            SDL_SendControllerEffect(ptrController, effectsState.getPointer(), Native.getNativeSize(DS5EffectsState.ByValue.class));
+    private boolean sendDualSenseEffects(DS5EffectsState effects) {
+        if (!SDL_SendControllerEffect(ptrController, effects.getPointer(), effects.size())) {
+            CUtil.LOGGER.error("Could not send DualSense effects: {}", SDL_GetError());
+            return false;
         }
+        return true;
     }
 
     private void updateHDHaptic() {
-        for (int i = 0; i < dualsenseAudioHandles.size(); i++) {
-            AudioStreamHandle handle = dualsenseAudioHandles.get(i);
-            if (handle.isTimedOut()) {
-                handle.close();
-                dualsenseAudioHandles.remove(handle);
-            } else {
-                handle.tick();
-            }
+        if (dualsenseHapticOutput != null) {
+            dualsenseHapticOutput.update();
         }
     }
 
     private void playHaptic(HapticBufferLibrary.HapticBuffer sound) {
-        if (ptrController == null || dualsenseAudioDev == null || dualsenseAudioSpec == null) {
+        if (ptrController == null || dualsenseHapticOutput == null) {
             return;
         }
 
-        SDL_AudioSpec spec = new SDL_AudioSpec();
-        spec.channels = sound.format().getChannels();
-        spec.freq = (int) sound.format().getSampleRate();
-
-        int ss = sound.format().getSampleSizeInBits();
-        int byteSs = ss / 8;
-        AudioFormat.Encoding encoding = sound.format().getEncoding();
-        if (ss == 8) {
-            if (encoding == AudioFormat.Encoding.PCM_SIGNED) {
-                spec.format = new SDL_AudioFormat(SDL_AUDIO_S8);
-            } else if (encoding == AudioFormat.Encoding.PCM_UNSIGNED) {
-                spec.format = new SDL_AudioFormat(SDL_AUDIO_U8);
-            }
-        } else if (sound.format().isBigEndian()) {
-            audioFmtEndian(spec, ss, encoding, SDL_AUDIO_S16BE, SDL_AUDIO_S32BE, SDL_AUDIO_F32BE);
-        } else {
-            audioFmtEndian(spec, ss, encoding, SDL_AUDIO_S16LE, SDL_AUDIO_S32LE, SDL_AUDIO_F32LE);
-        }
-
-        if (spec.format == null) {
-            throw new IllegalStateException("Unsupported format");
-        }
-
-        AudioStreamHandle handle = null;
-        for (AudioStreamHandle stream : dualsenseAudioHandles) {
-            SDL_AudioSpec streamSpec = stream.getSpec();
-            if (streamSpec.format.intValue() == spec.format.intValue()
-                && streamSpec.freq == spec.freq
-                && streamSpec.channels == spec.channels
-                && !stream.isInUse()
-            ) {
-                handle = stream;
-                break;
-            }
-        }
-        int length = sound.audio().length / spec.freq / spec.channels / byteSs * 20;
-
-        if (handle != null) {
-            handle.queueAudio(sound.audio(), length);
-        } else {
-            if (dualsenseAudioHandles.size() >= 16) {
-                dualsenseAudioHandles.remove(0).close();
-            }
-
-            AudioStreamHandle newHandle = AudioStreamHandle.createWithAudio(dualsenseAudioDev, spec, dualsenseAudioSpec, sound.audio(), length);
-            dualsenseAudioHandles.add(newHandle);
-        }
+        dualsenseHapticOutput.play(sound);
     }
 
-    private static void audioFmtEndian(SDL_AudioSpec spec, int ss, AudioFormat.Encoding encoding, int signed16, int signed32, int float32) {
-        if (ss == 16) {
-            if (encoding == AudioFormat.Encoding.PCM_SIGNED) {
-                spec.format = new SDL_AudioFormat(signed16);
-            }
-        } else if (ss == 32) {
-            if (encoding == AudioFormat.Encoding.PCM_SIGNED) {
-                spec.format = new SDL_AudioFormat(signed32);
-            } else if (encoding == AudioFormat.Encoding.PCM_FLOAT) {
-                spec.format = new SDL_AudioFormat(float32);
-            }
+    private void playSynthHaptic(SynthHaptic haptic) {
+        if (ptrController == null || dualsenseHapticOutput == null) {
+            return;
         }
+
+        dualsenseHapticOutput.play(haptic);
     }
 
     protected boolean isBluetooth() {
@@ -326,61 +281,4 @@ public abstract class SDLCommonDriver<SDL_Controller> implements Driver {
     protected abstract boolean SDL_SendControllerEffect(SDL_Controller ptrController, Pointer effect, int size);
 
 
-    protected static class AudioStreamHandle {
-        private int streamLastPlayed;
-        private final SDL_AudioStream stream;
-        private final SDL_AudioSpec spec;
-
-        private AudioStreamHandle(SDL_AudioStream stream, SDL_AudioSpec spec) {
-            this.stream = stream;
-            this.spec = spec;
-            this.streamLastPlayed = 0;
-        }
-
-        public void queueAudio(byte[] audio, int tickLength) {
-            try (Memory memory = new Memory(audio.length)) {
-                memory.write(0, audio, 0, audio.length);
-                SDL_PutAudioStreamData(stream, memory, audio.length);
-
-                streamLastPlayed = Math.min(0, streamLastPlayed);
-                streamLastPlayed -= tickLength;
-            }
-        }
-
-        public SDL_AudioSpec getSpec() {
-            return this.spec;
-        }
-
-        public boolean isInUse() {
-            return streamLastPlayed < 0;
-        }
-
-        public boolean isTimedOut() {
-            return streamLastPlayed >= AUDIO_STREAM_TIMEOUT_TICKS;
-        }
-
-        public void tick() {
-            streamLastPlayed++;
-        }
-
-        public void close() {
-            SDL_DestroyAudioStream(stream);
-        }
-
-        public static AudioStreamHandle createWithAudio(SDL_AudioDeviceID device, SDL_AudioSpec audioSpec, SDL_AudioSpec devSpec, byte[] audio, int tickLength) {
-            SDL_AudioStream stream = SDL_CreateAudioStream(audioSpec, devSpec);
-            SDL_BindAudioStream(device, stream);
-
-            var handle = new AudioStreamHandle(stream, audioSpec);
-            handle.queueAudio(audio, tickLength);
-            return handle;
-        }
-
-        public static AudioStreamHandle createWithInitialTimeout(SDL_AudioDeviceID device, SDL_AudioSpec srcSpec, SDL_AudioSpec devSpec) {
-            SDL_AudioStream stream = SDL_CreateAudioStream(srcSpec, devSpec);
-            SDL_BindAudioStream(device, stream);
-
-            return new AudioStreamHandle(stream, srcSpec);
-        }
-    }
 }
@@ -0,0 +1,21 @@
+package dev.isxander.controlify.driver.sdl;
+
+import dev.isxander.sdl3java.api.gamepad.SDL_Gamepad;
+
+/**
+ * The native calls made to read a gamepad's state every tick, kept behind an interface
+ * so a lower-overhead binding can replace JNA without touching the driver.
+ * <p>
+ * Implementations may keep native scratch buffers, so an instance must only be used
+ * by a single driver on a single thread.
+ */
+public interface SDLGamepadBridge {
+    /**
+     * Reads the whole state of the gamepad into the snapshot, overwriting it.
+     */
+    void snapshot(SDL_Gamepad gamepad, SDLGamepadSnapshot snapshot);
+
+    static SDLGamepadBridge create() {
+        return new JNAGamepadBridge();
+    }
+}
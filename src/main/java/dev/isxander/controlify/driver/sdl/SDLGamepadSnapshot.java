@@ -0,0 +1,80 @@
+package dev.isxander.controlify.driver.sdl;
+
+import static dev.isxander.sdl3java.api.gamepad.SDL_GamepadAxis.*;
+import static dev.isxander.sdl3java.api.gamepad.SDL_GamepadButton.*;
+
+/**
+ * Preallocated snapshot of everything read from an SDL gamepad each tick.
+ * Filled either by a {@link SDLGamepadBridge} or incrementally from SDL events,
+ * and reused for the lifetime of the driver so reading state never allocates.
+ * <p>
+ * Axes and buttons are indexed by their SDL enum value.
+ */
+public final class SDLGamepadSnapshot {
+    public static final int AXIS_COUNT = SDL_GAMEPAD_AXIS_RIGHT_TRIGGER + 1;
+    public static final int BUTTON_COUNT = SDL_GAMEPAD_BUTTON_MISC6 + 1;
+
+    /** normalised to [-1, 1], triggers [0, 1] */
+    public final float[] axes = new float[AXIS_COUNT];
+    public final boolean[] buttons = new boolean[BUTTON_COUNT];
+
+    public final boolean hasGyro;
+    public final float[] gyro = new float[3];
+
+    public final boolean[][] fingerDown;
+    public final float[][] fingerX, fingerY, fingerPressure;
+
+    /** when the controller was read, from {@link System#nanoTime()} */
+    public long timestamp;
+
+    /** when polled off-thread, how many times each button has been pressed and released across every poll */
+    public final long[] buttonPresses = new long[BUTTON_COUNT], buttonReleases = new long[BUTTON_COUNT];
+
+    /**
+     * @param hasGyro whether the gyro should be read
+     * @param fingersPerTouchpad the max number of fingers of each touchpad
+     */
+    public SDLGamepadSnapshot(boolean hasGyro, int[] fingersPerTouchpad) {
+        this.hasGyro = hasGyro;
+
+        int touchpads = fingersPerTouchpad.length;
+        this.fingerDown = new boolean[touchpads][];
+        this.fingerX = new float[touchpads][];
+        this.fingerY = new float[touchpads][];
+        this.fingerPressure = new float[touchpads][];
+        for (int i = 0; i < touchpads; i++) {
+            int fingers = Math.max(0, fingersPerTouchpad[i]);
+            this.fingerDown[i] = new boolean[fingers];
+            this.fingerX[i] = new float[fingers];
+            this.fingerY[i] = new float[fingers];
+            this.fingerPressure[i] = new float[fingers];
+        }
+    }
+
+    public SDLGamepadSnapshot copyShape() {
+        int[] fingers = new int[touchpadCount()];
+        for (int i = 0; i < fingers.length; i++) {
+            fingers[i] = this.fingerDown[i].length;
+        }
+        return new SDLGamepadSnapshot(this.hasGyro, fingers);
+    }
+
+    public void copyFrom(SDLGamepadSnapshot other) {
+        System.arraycopy(other.axes, 0, this.axes, 0, AXIS_COUNT);
+        System.arraycopy(other.buttons, 0, this.buttons, 0, BUTTON_COUNT);
+        System.arraycopy(other.gyro, 0, this.gyro, 0, 3);
+        for (int i = 0; i < touchpadCount(); i++) {
+            System.arraycopy(other.fingerDown[i], 0, this.fingerDown[i], 0, this.fingerDown[i].length);
+            System.arraycopy(other.fingerX[i], 0, this.fingerX[i], 0, this.fingerX[i].length);
+            System.arraycopy(other.fingerY[i], 0, this.fingerY[i], 0, this.fingerY[i].length);
+            System.arraycopy(other.fingerPressure[i], 0, this.fingerPressure[i], 0, this.fingerPressure[i].length);
+        }
+        System.arraycopy(other.buttonPresses, 0, this.buttonPresses, 0, BUTTON_COUNT);
+        System.arraycopy(other.buttonReleases, 0, this.buttonReleases, 0, BUTTON_COUNT);
+        this.timestamp = other.timestamp;
+    }
+
+    public int touchpadCount() {
+        return this.fingerDown.length;
+    }
+}
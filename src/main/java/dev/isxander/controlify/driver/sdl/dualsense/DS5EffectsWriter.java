@@ -0,0 +1,158 @@
+package dev.isxander.controlify.driver.sdl.dualsense;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Sends DualSense effects through a single reused native struct.
+ * <p>
+ * A shadow copy of every field last sent is kept, and only the enable bits of fields that differ from it are set,
+ * so the controller is only sent what actually changed. Each field is also limited in how often it can be sent,
+ * changes made faster than that are held back and sent once the limit allows.
+ * A send that fails is retried with a backoff, so a controller that rejects effects isn't sent them every tick.
+ */
+public final class DS5EffectsWriter {
+    private static final int LEFT_TRIGGER = 0, RIGHT_TRIGGER = 1, MUTE_LIGHT = 2;
+    private static final int FIELD_COUNT = 3;
+    private static final long[] MIN_SEND_INTERVAL_NANOS = {
+            40_000_000L, // left trigger
+            40_000_000L, // right trigger
+            250_000_000L, // mute light
+    };
+    // doubles with each failure in a row, up to 8 seconds
+    private static final long RETRY_BACKOFF_NANOS = 250_000_000L;
+    private static final int MAX_RETRY_BACKOFF_SHIFT = 5;
+    private static final DS5EffectsState.TriggerEffect TRIGGER_OFF = DualsenseTriggerEffects.off();
+
+    private final Sink sink;
+    private final DS5EffectsState.ByValue buffer = new DS5EffectsState.ByValue();
+
+    // shadow copy of the last sent state of each field
+    private final DS5EffectsState.TriggerEffect sentLeftTrigger = new DS5EffectsState.TriggerEffect();
+    private final DS5EffectsState.TriggerEffect sentRightTrigger = new DS5EffectsState.TriggerEffect();
+    private boolean sentMuteLight;
+    private final boolean[] everSent = new boolean[FIELD_COUNT];
+    private final long[] sentNanos = new long[FIELD_COUNT];
+    private int failedSends;
+    private long retryNanos;
+
+    public DS5EffectsWriter(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Sends the fields that changed since they were last sent.
+     *
+     * @param leftTrigger effect of the left trigger, null for off
+     * @param rightTrigger effect of the right trigger, null for off
+     * @param nowNanos the current time from {@link System#nanoTime()}
+     * @return true if a changed field was held back or failed to send, and this should be called again later
+     */
+    public boolean write(@Nullable DS5EffectsState.TriggerEffect leftTrigger, @Nullable DS5EffectsState.TriggerEffect rightTrigger, boolean muteLight, long nowNanos) {
+        if (leftTrigger == null) leftTrigger = TRIGGER_OFF;
+        if (rightTrigger == null) rightTrigger = TRIGGER_OFF;
+
+        boolean sendLeft = this.isChanged(LEFT_TRIGGER, !triggerEquals(leftTrigger, this.sentLeftTrigger));
+        boolean sendRight = this.isChanged(RIGHT_TRIGGER, !triggerEquals(rightTrigger, this.sentRightTrigger));
+        boolean sendMuteLight = this.isChanged(MUTE_LIGHT, muteLight != this.sentMuteLight);
+
+        if (this.failedSends > 0 && nowNanos - this.retryNanos < 0)
+            return sendLeft || sendRight || sendMuteLight;
+
+        // changes made too soon after the field was last sent wait for a later write
+        boolean heldBack = (sendLeft && !this.canSend(LEFT_TRIGGER, nowNanos))
+                || (sendRight && !this.canSend(RIGHT_TRIGGER, nowNanos))
+                || (sendMuteLight && !this.canSend(MUTE_LIGHT, nowNanos));
+        sendLeft &= this.canSend(LEFT_TRIGGER, nowNanos);
+        sendRight &= this.canSend(RIGHT_TRIGGER, nowNanos);
+        sendMuteLight &= this.canSend(MUTE_LIGHT, nowNanos);
+
+        if (!sendLeft && !sendRight && !sendMuteLight)
+            return heldBack;
+
+        DS5EffectsState.ByValue buffer = this.buffer;
+        buffer.ucEnableBits1 = 0;
+        buffer.ucEnableBits2 = 0;
+        if (sendLeft) {
+            buffer.ucEnableBits1 |= DS5EffectsState.EnableBitFlags1.ALLOW_LEFT_TRIGGER_FFB;
+            copyTrigger(leftTrigger, buffer.rgucLeftTriggerEffect);
+        }
+        if (sendRight) {
+            buffer.ucEnableBits1 |= DS5EffectsState.EnableBitFlags1.ALLOW_RIGHT_TRIGGER_FFB;
+            copyTrigger(rightTrigger, buffer.rgucRightTriggerEffect);
+        }
+        if (sendMuteLight) {
+            buffer.ucEnableBits2 |= DS5EffectsState.EnableBitFlags2.ALLOW_MUTE_LIGHT;
+            buffer.ucMicLightMode = muteLight ? DS5EffectsState.MuteLightState.ON : DS5EffectsState.MuteLightState.OFF;
+        }
+        buffer.write();
+
+        if (!this.sink.send(buffer)) {
+            // leave the shadow as it was, so the same fields are sent again once the backoff passes
+            this.retryNanos = nowNanos + (RETRY_BACKOFF_NANOS << Math.min(this.failedSends, MAX_RETRY_BACKOFF_SHIFT));
+            this.failedSends++;
+            return true;
+        }
+        this.failedSends = 0;
+
+        if (sendLeft) {
+            copyTrigger(leftTrigger, this.sentLeftTrigger);
+            this.markSent(LEFT_TRIGGER, nowNanos);
+        }
+        if (sendRight) {
+            copyTrigger(rightTrigger, this.sentRightTrigger);
+            this.markSent(RIGHT_TRIGGER, nowNanos);
+        }
+        if (sendMuteLight) {
+            this.sentMuteLight = muteLight;
+            this.markSent(MUTE_LIGHT, nowNanos);
+        }
+
+        return heldBack;
+    }
+
+    private boolean isChanged(int field, boolean differs) {
+        return differs || !this.everSent[field];
+    }
+
+    private boolean canSend(int field, long nowNanos) {
+        return !this.everSent[field] || nowNanos - this.sentNanos[field] >= MIN_SEND_INTERVAL_NANOS[field];
+    }
+
+    private void markSent(int field, long nowNanos) {
+        this.everSent[field] = true;
+        this.sentNanos[field] = nowNanos;
+    }
+
+    private static boolean triggerEquals(DS5EffectsState.TriggerEffect a, DS5EffectsState.TriggerEffect b) {
+        return a.effectType == b.effectType
+                && a.p0 == b.p0 && a.p1 == b.p1 && a.p2 == b.p2 && a.p3 == b.p3 && a.p4 == b.p4
+                && a.p5 == b.p5 && a.p6 == b.p6 && a.p7 == b.p7 && a.p8 == b.p8 && a.p9 == b.p9;
+    }
+
+    private static void copyTrigger(DS5EffectsState.TriggerEffect from, DS5EffectsState.TriggerEffect to) {
+        to.effectType = from.effectType;
+        to.p0 = from.p0;
+        to.p1 = from.p1;
+        to.p2 = from.p2;
+        to.p3 = from.p3;
+        to.p4 = from.p4;
+        to.p5 = from.p5;
+        to.p6 = from.p6;
+        to.p7 = from.p7;
+        to.p8 = from.p8;
+        to.p9 = from.p9;
+    }
+
+    /**
+     * Where effects are sent, the controller itself or a fake that records them.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * @param effects the effects to send, only the fields with their enable bits set are valid.
+         *                Already written to native memory, and only valid for the duration of the call.
+         * @return if the effects were sent successfully
+         */
+        boolean send(DS5EffectsState effects);
+    }
+}
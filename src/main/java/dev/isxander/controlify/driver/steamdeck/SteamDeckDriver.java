@@ -6,7 +6,7 @@ import dev.isxander.controlify.controller.battery.BatteryLevelComponent;
 import dev.isxander.controlify.controller.battery.PowerState;
 import dev.isxander.controlify.controller.gyro.GyroComponent;
 import dev.isxander.controlify.controller.gyro.GyroState;
-import dev.isxander.controlify.controller.impl.ControllerStateImpl;
+import dev.isxander.controlify.controller.input.ModifiableControllerState;
 import dev.isxander.controlify.controller.input.GamepadInputs;
 import dev.isxander.controlify.controller.input.InputComponent;
 import dev.isxander.controlify.controller.keyboard.NativeKeyboardComponent;
@@ -94,7 +94,7 @@ public class SteamDeckDriver implements Driver {
     public void update(ControllerEntity controller, boolean outOfFocus) {
         ensurePolling();
 
-        ControllerStateImpl state = new ControllerStateImpl();
+        ModifiableControllerState state = this.inputComponent.backState();
         ControllerState deckState = deck.getControllerState();
 
         boolean focused = deck.isGameInFocus();
@@ -135,7 +135,7 @@ public class SteamDeckDriver implements Driver {
         state.setAxis(GamepadInputs.LEFT_TRIGGER_AXIS, zeroUnless(mapShortToFloat(deckState.sTriggerL()), focused));
         state.setAxis(GamepadInputs.RIGHT_TRIGGER_AXIS, zeroUnless(mapShortToFloat(deckState.sTriggerR()), focused));
 
-        this.inputComponent.pushState(state);
+        this.inputComponent.pushState();
 
         this.gyroComponent.setState(
                 new GyroState(
@@ -13,12 +13,10 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.renderer.GameRenderer;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import org.joml.Matrix4f;
 
 import java.text.DecimalFormat;
-import java.util.List;
 import java.util.function.Supplier;
 
 public class Deadzone2DImageRenderer implements ImageRenderer {
@@ -37,12 +35,10 @@ public class Deadzone2DImageRenderer implements ImageRenderer {
         float radius = renderWidth / 4f;
         int renderHeight = (int) (radius * 2f);
 
-        // axes go up -> down -> left -> right
-        List<ResourceLocation> deadzones = deadzoneGroup.axes();
-        float up = input.rawStateNow().getAxisState(deadzones.get(0));
-        float down = input.rawStateNow().getAxisState(deadzones.get(1));
-        float left = input.rawStateNow().getAxisState(deadzones.get(2));
-        float right = input.rawStateNow().getAxisState(deadzones.get(3));
+        float up = input.rawStateNow().getAxisState(deadzoneGroup.up());
+        float down = input.rawStateNow().getAxisState(deadzoneGroup.down());
+        float left = input.rawStateNow().getAxisState(deadzoneGroup.left());
+        float right = input.rawStateNow().getAxisState(deadzoneGroup.right());
         float currentX = right - left;
         float currentY = down - up;
 
@@ -48,7 +48,8 @@ public class ControllerCalibrationScreen extends Screen implements DontInteruptS
 
     @Nullable
     private final Map<ResourceLocation, float[]> axisData;
-    private GyroState accumulatedGyroVelocity = new GyroState();
+    private GyroState accumulatedGyroDisplacement = new GyroState();
+    private float accumulatedGyroSeconds = 0;
 
     public ControllerCalibrationScreen(ControllerEntity controller, Screen parent) {
         this(controller, () -> parent);
@@ -145,7 +146,8 @@ public class ControllerCalibrationScreen extends Screen implements DontInteruptS
             calibrationTicks = 0;
             if (axisData != null)
                 axisData.clear();
-            accumulatedGyroVelocity = new GyroState();
+            accumulatedGyroDisplacement = new GyroState();
+            accumulatedGyroSeconds = 0;
         }
 
         if (calibrationTicks < CALIBRATION_TIME) {
@@ -195,7 +197,8 @@ public class ControllerCalibrationScreen extends Screen implements DontInteruptS
 
     private void processGyroData() {
         controller.gyro().ifPresent(gyro -> {
-            accumulatedGyroVelocity.add(gyro.getState());
+            accumulatedGyroDisplacement.add(gyro.getDisplacement());
+            accumulatedGyroSeconds += gyro.getDisplacementSeconds();
         });
     }
 
@@ -219,11 +222,15 @@ public class ControllerCalibrationScreen extends Screen implements DontInteruptS
 
             input.config().config().deadzones.put(group.name(), maxAbs + 0.08f);
         }
+
+        input.invalidateDeadzones();
     }
 
     private void generateGyroCalibration() {
         controller.gyro().ifPresent(gyro -> {
-            gyro.config().config().calibration = accumulatedGyroVelocity.div(CALIBRATION_TIME);
+            // the mean velocity over every sample, rather than over one sample per tick
+            if (accumulatedGyroSeconds > 0)
+                gyro.config().config().calibration = accumulatedGyroDisplacement.div(accumulatedGyroSeconds);
         });
 
     }
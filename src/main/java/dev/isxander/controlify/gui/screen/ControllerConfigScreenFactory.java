@@ -275,12 +275,15 @@ public class ControllerConfigScreenFactory {
                     .name(name)
                     .description(OptionDescription.createBuilder()
                             .text(Component.translatable("controlify.gui.axis_deadzone.tooltip", name))
-                            .customImage(CompletableFuture.completedFuture(deadzoneGroup.axes().size() == 4 ? Optional.of(new Deadzone2DImageRenderer(input, deadzoneGroup, deadzoneRef::get)) : Optional.empty()))
+                            .customImage(CompletableFuture.completedFuture(deadzoneGroup.stick() ? Optional.of(new Deadzone2DImageRenderer(input, deadzoneGroup, deadzoneRef::get)) : Optional.empty()))
                             .build())
                     .binding(
                             def.deadzones.getOrDefault(groupName, 0f),
                             () -> config.deadzones.getOrDefault(groupName, 0f),
-                            v -> config.deadzones.put(groupName, v)
+                            v -> {
+                                config.deadzones.put(groupName, v);
+                                input.invalidateDeadzones();
+                            }
                     )
                     .controller(opt -> FloatSliderControllerBuilder.create(opt)
                             .range(0f, 1f).step(0.02f)
@@ -291,6 +294,16 @@ public class ControllerConfigScreenFactory {
             deadzoneOpts.add(deadzoneOpt);
         }
 
+        group.option(Option.<Boolean>createBuilder()
+                .name(Component.translatable("controlify.gui.radial_deadzones"))
+                .description(OptionDescription.of(Component.translatable("controlify.gui.radial_deadzones.tooltip")))
+                .binding(def.radialDeadzones, () -> config.radialDeadzones, v -> {
+                    config.radialDeadzones = v;
+                    input.invalidateDeadzones();
+                })
+                .controller(TickBoxControllerBuilder::create)
+                .build());
+
         group.option(Option.<Float>createBuilder()
                 .name(Component.translatable("controlify.gui.button_activation_threshold"))
                 .description(OptionDescription.createBuilder()
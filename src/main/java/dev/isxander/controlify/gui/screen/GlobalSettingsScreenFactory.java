@@ -8,6 +8,7 @@ import dev.isxander.controlify.driver.SDL3NativesManager;
 import dev.isxander.controlify.driver.steamdeck.SteamDeckUtil;
 import dev.isxander.controlify.gui.controllers.FormattableStringController;
 import dev.isxander.controlify.reacharound.ReachAroundMode;
+import dev.isxander.controlify.rumble.RumbleMixLaw;
 import dev.isxander.controlify.server.ServerPolicies;
 import dev.isxander.controlify.server.ServerPolicy;
 import dev.isxander.controlify.utils.CUtil;
@@ -98,6 +99,47 @@ public class GlobalSettingsScreenFactory {
                                                     .ifPresent(rumble -> rumble.rumbleManager().clearEffects());
                                         })
                                         .build())
+                                .option(Option.<Integer>createBuilder()
+                                        .name(Component.translatable("controlify.gui.rumble_output_rate"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.rumble_output_rate.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.rumbleOutputRate, () -> globalSettings.rumbleOutputRate, v -> globalSettings.rumbleOutputRate = v)
+                                        .controller(opt -> IntegerSliderControllerBuilder.create(opt)
+                                                .range(20, 250)
+                                                .step(10)
+                                                .formatValue(v -> Component.translatable("controlify.gui.format.hertz", v)))
+                                        .build())
+                                .option(Option.<Integer>createBuilder()
+                                        .name(Component.translatable("controlify.gui.rumble_voices"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.rumble_voices.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.rumbleVoices, () -> globalSettings.rumbleVoices, v -> globalSettings.rumbleVoices = v)
+                                        .controller(opt -> IntegerSliderControllerBuilder.create(opt)
+                                                .range(1, 32)
+                                                .step(1))
+                                        .build())
+                                .option(Option.<RumbleMixLaw>createBuilder()
+                                        .name(Component.translatable("controlify.gui.rumble_mix_law"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.rumble_mix_law.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.rumbleMixLaw, () -> globalSettings.rumbleMixLaw, v -> globalSettings.rumbleMixLaw = v)
+                                        .controller(opt -> EnumControllerBuilder.create(opt)
+                                                .enumClass(RumbleMixLaw.class))
+                                        .build())
+                                .option(Option.<Integer>createBuilder()
+                                        .name(Component.translatable("controlify.gui.haptic_cache_size"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.haptic_cache_size.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.hapticCacheSize, () -> globalSettings.hapticCacheSize, v -> globalSettings.hapticCacheSize = v)
+                                        .controller(opt -> IntegerSliderControllerBuilder.create(opt)
+                                                .range(4, 128)
+                                                .step(4)
+                                                .formatValue(v -> Component.translatable("controlify.gui.format.megabytes", v)))
+                                        .build())
                                 .option(Option.<Boolean>createBuilder()
                                         .name(Component.translatable("controlify.gui.keyboard_movement"))
                                         .description(OptionDescription.createBuilder()
@@ -163,6 +205,33 @@ public class GlobalSettingsScreenFactory {
                                         .binding(GlobalSettings.DEFAULT.outOfFocusInput, () -> globalSettings.outOfFocusInput, v -> globalSettings.outOfFocusInput = v)
                                         .controller(TickBoxControllerBuilder::create)
                                         .build())
+                                .option(Option.<Boolean>createBuilder()
+                                        .name(Component.translatable("controlify.gui.event_driven_input"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.event_driven_input.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.eventDrivenInput, () -> globalSettings.eventDrivenInput, v -> globalSettings.eventDrivenInput = v)
+                                        .controller(TickBoxControllerBuilder::create)
+                                        .build())
+                                .option(Option.<Integer>createBuilder()
+                                        .name(Component.translatable("controlify.gui.input_polling_rate"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.input_polling_rate.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.inputPollingRate, () -> globalSettings.inputPollingRate, v -> globalSettings.inputPollingRate = v)
+                                        .controller(opt -> IntegerSliderControllerBuilder.create(opt)
+                                                .range(0, 1000)
+                                                .step(250)
+                                                .formatValue(v -> v == 0 ? CommonComponents.OPTION_OFF : Component.translatable("controlify.gui.format.hertz", v)))
+                                        .build())
+                                .option(Option.<Boolean>createBuilder()
+                                        .name(Component.translatable("controlify.gui.look_input_per_frame"))
+                                        .description(OptionDescription.createBuilder()
+                                                .text(Component.translatable("controlify.gui.look_input_per_frame.tooltip"))
+                                                .build())
+                                        .binding(GlobalSettings.DEFAULT.lookInputPerFrame, () -> globalSettings.lookInputPerFrame, v -> globalSettings.lookInputPerFrame = v)
+                                        .controller(TickBoxControllerBuilder::create)
+                                        .build())
                                 .option(Option.<Boolean>createBuilder()
                                         .name(Component.translatable("controlify.gui.notify_low_battery"))
                                         .description(OptionDescription.createBuilder()
@@ -137,6 +137,7 @@ public class RadialMenuScreen extends Screen implements ScreenControllerEventLis
         if (editMode == null && !openBind.digitalNow()) {
             if (selectedButton != -1 && buttons[selectedButton].invoke()) {
                 playClickSound();
+                controller.hdHaptics().ifPresent(haptics -> haptics.playHaptic(HapticEffects.THUD));
             }
 
             onClose();
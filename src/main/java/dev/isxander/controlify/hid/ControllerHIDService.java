@@ -1,7 +1,6 @@
 package dev.isxander.controlify.hid;
 
 import com.google.common.primitives.Ints;
-import com.mojang.datafixers.util.Pair;
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.id.ControllerType;
 import dev.isxander.controlify.driver.SDL3NativesManager;
@@ -9,20 +8,40 @@ import dev.isxander.controlify.debug.DebugProperties;
 import dev.isxander.controlify.utils.CUtil;
 import dev.isxander.controlify.utils.ToastUtils;
 import net.minecraft.network.chat.Component;
-import org.hid4java.*;
+import org.jetbrains.annotations.Nullable;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.concurrent.ArrayBlockingQueue;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Identifies controllers by the HID device they are.
+ * <p>
+ * Enumerating every HID device on the system can take hundreds of milliseconds, so it never happens on the caller's thread.
+ * A background thread re-enumerates every {@link #REFRESH_INTERVAL_SECONDS} seconds, or sooner when {@link #invalidate() invalidated},
+ * and publishes an immutable {@link HIDSnapshot} that controller identification only looks up.
+ */
 public class ControllerHIDService {
-    private final HidServicesSpecification specification;
-    private HidServices services;
+    private static final long REFRESH_INTERVAL_SECONDS = 5;
+    private static final long FIRST_SCAN_TIMEOUT_SECONDS = 5;
+
+    private final HIDBackend backend;
+    private ScheduledExecutorService scanner;
+
+    private volatile HIDSnapshot snapshot = HIDSnapshot.EMPTY;
+    private final CompletableFuture<HIDSnapshot> firstScan = new CompletableFuture<>();
+    // guarded by this
+    private @Nullable CompletableFuture<HIDSnapshot> pendingRefresh;
 
-    private final Queue<Pair<HidDevice, HIDIdentifier>> unconsumedControllerHIDs;
-    private final Map<String, HidDevice> attachedDevices = new HashMap<>();
-    private boolean disabled = false;
+    // paths of devices already identified as a controller, only used on the main thread
+    private final Set<String> consumedPaths = new HashSet<>();
+    private volatile boolean disabled = false;
     private boolean firstFetch = true;
     // https://learn.microsoft.com/en-us/windows-hardware/drivers/hid/hid-usages#usage-page
     private static final Set<Integer> CONTROLLER_USAGE_IDS = Set.of(
@@ -32,26 +51,106 @@ public class ControllerHIDService {
     );
 
     public ControllerHIDService() {
-        this.specification = new HidServicesSpecification();
-        specification.setAutoStart(false);
-        specification.setScanMode(ScanMode.NO_SCAN);
-        this.unconsumedControllerHIDs = new ArrayBlockingQueue<>(50);
+        this(new Hid4JavaBackend());
+    }
+
+    public ControllerHIDService(HIDBackend backend) {
+        this.backend = backend;
     }
 
     public void start() {
         try {
-            services = HidManager.getHidServices(specification);
-            services.start();
-        } catch (HidException e) {
+            backend.start();
+        } catch (Exception e) {
             CUtil.LOGGER.error("Failed to start controller HID service! If you are on Linux using flatpak or snap, this is likely because your launcher has not added libusb to their package.", e);
             disabled = true;
+            firstScan.complete(HIDSnapshot.EMPTY);
+            return;
         }
+
+        scanner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Controlify HID Enumeration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scanner.scheduleWithFixedDelay(this::refresh, 0, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 
     public void stop() {
-        if (!disabled && services != null) {
-            services.shutdown();
+        if (!disabled) {
             disabled = true;
+            if (scanner != null) {
+                scanner.shutdown();
+                try {
+                    scanner.awaitTermination(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            backend.stop();
+        }
+    }
+
+    /**
+     * Re-enumerates devices as soon as possible, such as when a controller is plugged in.
+     *
+     * @return completes, on the enumeration thread, with a snapshot enumerated after this was called
+     */
+    public CompletableFuture<HIDSnapshot> invalidate() {
+        if (disabled || scanner == null)
+            return CompletableFuture.completedFuture(snapshot);
+
+        synchronized (this) {
+            if (pendingRefresh == null) {
+                pendingRefresh = new CompletableFuture<>();
+                scanner.execute(this::refresh);
+            }
+            return pendingRefresh;
+        }
+    }
+
+    /**
+     * @return the devices found by the latest enumeration, never blocks
+     */
+    public HIDSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Waits for the first enumeration, that began when the service started, if it has not finished already.
+     * Only for discovering the controllers that were connected at launch.
+     */
+    public void awaitFirstScan() {
+        try {
+            firstScan.get(FIRST_SCAN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            CUtil.LOGGER.warn("HID enumeration is taking too long, identifying controllers without it.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            CUtil.LOGGER.error("Failed to enumerate HID devices", e);
+        }
+    }
+
+    private void refresh() {
+        // anything waiting on a refresh is satisfied by this one, as it has not enumerated yet
+        CompletableFuture<HIDSnapshot> waiting;
+        synchronized (this) {
+            waiting = pendingRefresh;
+            pendingRefresh = null;
+        }
+
+        HIDSnapshot newSnapshot = snapshot;
+        try {
+            newSnapshot = HIDSnapshot.of(backend.enumerate());
+        } catch (Throwable e) {
+            CUtil.LOGGER.error("Failed to enumerate HID devices", e);
+        }
+
+        snapshot = newSnapshot;
+        firstScan.complete(newSnapshot);
+        if (waiting != null) {
+            waiting.complete(newSnapshot);
         }
     }
 
@@ -92,75 +191,39 @@ public class ControllerHIDService {
             return new ControllerHIDInfo(ControllerType.DEFAULT, Optional.empty());
         }
 
-        doScanOnThisThread();
+        HIDSnapshot snapshot = this.snapshot;
+        // a consumed device that is no longer attached can be identified again when it comes back
+        consumedPaths.removeIf(path -> snapshot.byPath(path).isEmpty());
 
-        Pair<HidDevice, HIDIdentifier> hid = unconsumedControllerHIDs.poll();
-        if (hid == null) {
+        Optional<HIDDeviceInfo> hid = snapshot.devices().stream()
+                .filter(device -> !consumedPaths.contains(device.path()))
+                .filter(this::isController)
+                .findFirst();
+        if (hid.isEmpty()) {
             CUtil.LOGGER.warn("No controller found via USB hardware scan! Using SDL if available.");
 
             return new ControllerHIDInfo(ControllerType.DEFAULT, Optional.empty());
         }
 
-        ControllerType type = Controlify.instance().controllerTypeManager().getControllerType(hid.getSecond());
-
-        unconsumedControllerHIDs.removeIf(h -> hid.getFirst().getPath().equals(h.getFirst().getPath()));
+        consumedPaths.add(hid.get().path());
+        ControllerType type = Controlify.instance().controllerTypeManager().getControllerType(hid.get().identifier());
 
-        return new ControllerHIDInfo(type, Optional.of(new HIDDevice.Hid4Java(hid.getFirst())));
+        return new ControllerHIDInfo(type, hid.get().device());
     }
 
     public boolean isDisabled() {
         return disabled;
     }
 
-    private void doScanOnThisThread() {
-        List<String> removeList = new ArrayList<String>();
-
-        List<HidDevice> attachedHidDeviceList = services.getAttachedHidDevices();
-
-        for (HidDevice attachedDevice : attachedHidDeviceList) {
-
-            if (!this.attachedDevices.containsKey(attachedDevice.getId())) {
-
-                // Device has become attached so add it but do not open
-                attachedDevices.put(attachedDevice.getId(), attachedDevice);
-
-                // add an unconsumed identifier that can be removed if not disconnected
-                HIDIdentifier identifier = new HIDIdentifier(attachedDevice.getVendorId(), attachedDevice.getProductId());
-                if (isController(attachedDevice))
-                    unconsumedControllerHIDs.add(new Pair<>(attachedDevice, identifier));
-            }
-        }
-
-        for (Map.Entry<String, HidDevice> entry : attachedDevices.entrySet()) {
-
-            String deviceId = entry.getKey();
-            HidDevice hidDevice = entry.getValue();
-
-            if (!attachedHidDeviceList.contains(hidDevice)) {
-
-                // Keep track of removals
-                removeList.add(deviceId);
-
-                // remove device from unconsumed list
-                unconsumedControllerHIDs.removeIf(device -> this.attachedDevices.get(deviceId).getPath().equals(device.getFirst().getPath()));
-            }
-        }
-
-        if (!removeList.isEmpty()) {
-            // Update the attached devices map
-            removeList.forEach(this.attachedDevices.keySet()::remove);
-        }
-    }
-
     public void unconsumeController(ControllerHIDInfo hid) {
-        hid.hidDevice.ifPresent(device -> attachedDevices.remove(device.path()));
+        hid.hidDevice.ifPresent(device -> consumedPaths.remove(device.path()));
     }
 
-    private boolean isController(HidDevice device) {
+    private boolean isController(HIDDeviceInfo device) {
         boolean isControllerType = Controlify.instance().controllerTypeManager().getTypeMap()
-                .containsKey(new HIDIdentifier(device.getVendorId(), device.getProductId()));
-        boolean isGenericDesktopControlOrGameControl = device.getUsagePage() == 0x1 || device.getUsagePage() == 0x5;
-        boolean isSelfIdentifiedController = CONTROLLER_USAGE_IDS.contains(device.getUsage());
+                .containsKey(device.identifier());
+        boolean isGenericDesktopControlOrGameControl = device.usagePage() == 0x1 || device.usagePage() == 0x5;
+        boolean isSelfIdentifiedController = CONTROLLER_USAGE_IDS.contains(device.usage());
 
         return isControllerType || (isGenericDesktopControlOrGameControl && isSelfIdentifiedController);
     }
@@ -0,0 +1,18 @@
+package dev.isxander.controlify.hid;
+
+import java.util.List;
+
+/**
+ * Lists the HID devices attached to the system, for {@link ControllerHIDService}.
+ * Only ever called from the service's enumeration thread.
+ */
+public interface HIDBackend {
+    /**
+     * @throws Exception if the backend can't be used, the service is then disabled
+     */
+    void start() throws Exception;
+
+    List<HIDDeviceInfo> enumerate();
+
+    void stop();
+}
@@ -0,0 +1,11 @@
+package dev.isxander.controlify.hid;
+
+import java.util.Optional;
+
+/**
+ * A HID device found by a {@link HIDBackend}.
+ *
+ * @param device a handle to communicate with the device, if the backend can
+ */
+public record HIDDeviceInfo(String path, HIDIdentifier identifier, int usagePage, int usage, Optional<HIDDevice> device) {
+}
@@ -0,0 +1,50 @@
+package dev.isxander.controlify.hid;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable view of every attached HID device at the time of an enumeration,
+ * in the order the backend listed them, looked up by path or by VID/PID.
+ */
+public final class HIDSnapshot {
+    public static final HIDSnapshot EMPTY = new HIDSnapshot(List.of());
+
+    private final List<HIDDeviceInfo> devices;
+    private final ImmutableMap<String, HIDDeviceInfo> byPath;
+    private final ImmutableListMultimap<HIDIdentifier, HIDDeviceInfo> byIdentifier;
+
+    private HIDSnapshot(List<HIDDeviceInfo> devices) {
+        this.devices = List.copyOf(devices);
+
+        Map<String, HIDDeviceInfo> byPath = new HashMap<>();
+        ImmutableListMultimap.Builder<HIDIdentifier, HIDDeviceInfo> byIdentifier = ImmutableListMultimap.builder();
+        for (HIDDeviceInfo device : this.devices) {
+            byPath.put(device.path(), device);
+            byIdentifier.put(device.identifier(), device);
+        }
+        this.byPath = ImmutableMap.copyOf(byPath);
+        this.byIdentifier = byIdentifier.build();
+    }
+
+    public static HIDSnapshot of(List<HIDDeviceInfo> devices) {
+        return devices.isEmpty() ? EMPTY : new HIDSnapshot(devices);
+    }
+
+    public List<HIDDeviceInfo> devices() {
+        return devices;
+    }
+
+    public Optional<HIDDeviceInfo> byPath(String path) {
+        return Optional.ofNullable(byPath.get(path));
+    }
+
+    public List<HIDDeviceInfo> byIdentifier(HIDIdentifier identifier) {
+        return byIdentifier.get(identifier);
+    }
+}
@@ -0,0 +1,54 @@
+package dev.isxander.controlify.hid;
+
+import org.hid4java.HidDevice;
+import org.hid4java.HidManager;
+import org.hid4java.HidServices;
+import org.hid4java.HidServicesSpecification;
+import org.hid4java.ScanMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Enumerates devices with hid4java, only when asked rather than with its own scanning thread.
+ */
+final class Hid4JavaBackend implements HIDBackend {
+    private final HidServicesSpecification specification;
+    private HidServices services;
+
+    Hid4JavaBackend() {
+        this.specification = new HidServicesSpecification();
+        specification.setAutoStart(false);
+        specification.setScanMode(ScanMode.NO_SCAN);
+    }
+
+    @Override
+    public void start() {
+        services = HidManager.getHidServices(specification);
+        services.start();
+    }
+
+    @Override
+    public List<HIDDeviceInfo> enumerate() {
+        List<HidDevice> attached = services.getAttachedHidDevices();
+        List<HIDDeviceInfo> devices = new ArrayList<>(attached.size());
+        for (HidDevice device : attached) {
+            devices.add(new HIDDeviceInfo(
+                    device.getPath(),
+                    new HIDIdentifier(device.getVendorId(), device.getProductId()),
+                    device.getUsagePage(),
+                    device.getUsage(),
+                    Optional.of(new HIDDevice.Hid4Java(device))
+            ));
+        }
+        return devices;
+    }
+
+    @Override
+    public void stop() {
+        if (services != null) {
+            services.shutdown();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.bindings.ControlifyBindings;
 import dev.isxander.controlify.api.bind.InputBinding;
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.debug.InputLatency;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.KeyboardInput;
 import net.minecraft.client.player.LocalPlayer;
@@ -103,6 +104,8 @@ public class ControllerPlayerMovement extends /*? if >=1.21.2 {*/ ClientInput /*
 
         this.wasFlying = player.getAbilities().flying;
         this.wasPassenger = player.isPassenger();
+
+        controller.input().ifPresent(input -> InputLatency.recordSince(InputLatency.Stage.MOVEMENT, input.stateTimestamp()));
     }
 
     public static void updatePlayerInput(@Nullable LocalPlayer player) {
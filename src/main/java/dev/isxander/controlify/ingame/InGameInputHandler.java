@@ -1,6 +1,8 @@
 package dev.isxander.controlify.ingame;
 
 import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.api.bind.InputBinding;
+import dev.isxander.controlify.api.bind.InputBindingSupplier;
 import dev.isxander.controlify.api.ingameinput.LookInputModifier;
 import dev.isxander.controlify.api.event.ControlifyEvents;
 import dev.isxander.controlify.bindings.ControlifyBindings;
@@ -8,7 +10,9 @@ import dev.isxander.controlify.controller.gyro.GyroState;
 import dev.isxander.controlify.controller.ControllerEntity;
 import dev.isxander.controlify.controller.gyro.GyroButtonMode;
 import dev.isxander.controlify.controller.gyro.GyroComponent;
+import dev.isxander.controlify.controller.input.ControllerStateView;
 import dev.isxander.controlify.controller.input.InputComponent;
+import dev.isxander.controlify.debug.InputLatency;
 import dev.isxander.controlify.driver.steamdeck.SteamDeckDriver;
 import dev.isxander.controlify.gui.screen.RadialItems;
 import dev.isxander.controlify.gui.screen.RadialMenuScreen;
@@ -33,6 +37,7 @@ import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
 import org.joml.Vector2f;
 import org.joml.Vector2fc;
 
@@ -44,6 +49,9 @@ public class InGameInputHandler {
     private final Minecraft minecraft;
 
     private double lookInputX, lookInputY; // in degrees per tick
+    // when look input is sampled per frame, the parts of it that are only updated each tick
+    private boolean frameLookEnabled, frameLookAiming, frameLookFlickStick;
+    private long lastLookTimestamp;
     private final GyroState gyroInput = new GyroState();
     private boolean gyroToggledOn;
     private boolean wasAiming;
@@ -71,6 +79,8 @@ public class InGameInputHandler {
         if (isController) {
             handleKeybinds();
             preventFlyDrifting();
+
+            controller.input().ifPresent(input -> InputLatency.recordSince(InputLatency.Stage.INGAME, input.stateTimestamp()));
         }
     }
 
@@ -265,18 +275,43 @@ public class InGameInputHandler {
         if (!isController || !canProcessLookInput()) {
             lookInputX = 0;
             lookInputY = 0;
+            frameLookEnabled = false;
             return;
         }
 
         boolean aiming = isAiming(player);
+        boolean flickStick = controller.gyro().map(gyro -> gyro.confObj().lookSensitivity > 0 && gyro.confObj().flickStick).orElse(false);
 
-        Vector2f lookImpulse = new Vector2f();
-        controller.gyro().ifPresent(gyro -> handleGyroLook(gyro, lookImpulse, aiming));
+        if (controlify.config().globalSettings().lookInputPerFrame) {
+            // look input is sampled every frame in processPlayerLook
+            lookInputX = 0;
+            lookInputY = 0;
+            frameLookEnabled = true;
+            frameLookAiming = aiming;
+            frameLookFlickStick = flickStick;
+        } else {
+            updateLookInput(player, aiming, flickStick, 1f, null);
+            frameLookEnabled = false;
+        }
 
-        if (controller.gyro().map(gyro -> gyro.confObj().lookSensitivity > 0 && gyro.confObj().flickStick).orElse(false)) {
+        controller.gyro().ifPresent(this::handleGyroToggle);
+        if (flickStick) {
             handleFlickStick(player);
-        } else {
-            controller.input().ifPresent(input -> handleRegularLook(input, lookImpulse, aiming, player));
+        }
+
+        wasAiming = aiming;
+    }
+
+    /**
+     * @param ticks how many ticks this look input will be applied for
+     * @param sampledState state to read the look stick from, or null to use the bindings' state this tick
+     */
+    private void updateLookInput(LocalPlayer player, boolean aiming, boolean flickStick, float ticks, @Nullable ControllerStateView sampledState) {
+        Vector2f lookImpulse = new Vector2f();
+        controller.gyro().ifPresent(gyro -> handleGyroLook(gyro, lookImpulse, aiming, ticks));
+
+        if (!flickStick) {
+            controller.input().ifPresent(input -> handleRegularLook(input, lookImpulse, aiming, player, sampledState));
         }
 
         var modifier = new LookInputModifier(new Vector2f(lookImpulse), controller);
@@ -285,18 +320,16 @@ public class InGameInputHandler {
 
         lookInputX = lookImpulse.x;
         lookInputY = lookImpulse.y;
-
-        wasAiming = aiming;
     }
 
-    protected void handleRegularLook(InputComponent input, Vector2f impulse, boolean aiming, LocalPlayer player) {
+    protected void handleRegularLook(InputComponent input, Vector2f impulse, boolean aiming, LocalPlayer player, @Nullable ControllerStateView sampledState) {
         InputComponent.Config config = input.confObj();
 
         // normal look input
-        float impulseY = ControlifyBindings.LOOK_DOWN.on(controller).analogueNow()
-                - ControlifyBindings.LOOK_UP.on(controller).analogueNow();
-        float impulseX = ControlifyBindings.LOOK_RIGHT.on(controller).analogueNow()
-                - ControlifyBindings.LOOK_LEFT.on(controller).analogueNow();
+        float impulseY = lookAnalogue(ControlifyBindings.LOOK_DOWN, sampledState)
+                - lookAnalogue(ControlifyBindings.LOOK_UP, sampledState);
+        float impulseX = lookAnalogue(ControlifyBindings.LOOK_RIGHT, sampledState)
+                - lookAnalogue(ControlifyBindings.LOOK_LEFT, sampledState);
 
         // apply the easing on its length to preserve circularity
         Vector2fc easedImpulse = ControllerUtils.applyEasingToLength(
@@ -324,7 +357,12 @@ public class InGameInputHandler {
         impulse.y += impulseY;
     }
 
-    protected void handleGyroLook(GyroComponent gyro, Vector2f impulse, boolean aiming) {
+    private float lookAnalogue(InputBindingSupplier binding, @Nullable ControllerStateView sampledState) {
+        InputBinding inputBinding = binding.on(controller);
+        return sampledState != null ? inputBinding.analogueSampled(sampledState) : inputBinding.analogueNow();
+    }
+
+    protected void handleGyroLook(GyroComponent gyro, Vector2f impulse, boolean aiming, float ticks) {
         GyroComponent.Config config = gyro.confObj();
         var gyroButton = ControlifyBindings.GYRO_BUTTON.on(controller);
 
@@ -336,15 +374,11 @@ public class InGameInputHandler {
             gyroInput.set(0);
         } else {
             if (config.relativeGyroMode)
-                gyroInput.add(new GyroState(gyro.getState()).mul(0.1f));
+                gyroInput.add(new GyroState(gyro.getState()).mul(0.1f * ticks));
             else
                 gyroInput.set(gyro.getState());
         }
 
-        if(config.requiresButton.equals(GyroButtonMode.TOGGLE) && gyroButton.justPressed()) {
-           gyroToggledOn = !gyroToggledOn;
-        }
-
         // convert radians per second into degrees per tick
         GyroState thisInput = new GyroState(gyroInput)
                 .mul(Mth.RAD_TO_DEG)
@@ -359,6 +393,12 @@ public class InGameInputHandler {
         } * (config.invertX ? -1 : 1);
     }
 
+    protected void handleGyroToggle(GyroComponent gyro) {
+        if (gyro.confObj().requiresButton.equals(GyroButtonMode.TOGGLE) && ControlifyBindings.GYRO_BUTTON.on(controller).justPressed()) {
+            gyroToggledOn = !gyroToggledOn;
+        }
+    }
+
     protected void handleFlickStick(LocalPlayer player) {
         float y = ControlifyBindings.LOOK_DOWN.on(controller).analogueNow()
                 - ControlifyBindings.LOOK_UP.on(controller).analogueNow();
@@ -386,8 +426,37 @@ public class InGameInputHandler {
     }
 
     public void processPlayerLook(float deltaTime) {
-        if (minecraft.player != null) {
-            minecraft.player.turn(lookInputX / 0.15f * deltaTime, lookInputY / 0.15f * deltaTime);
+        LocalPlayer player = minecraft.player;
+        if (player == null)
+            return;
+
+        if (frameLookEnabled && controlify.config().globalSettings().lookInputPerFrame) {
+            if (canProcessLookInput()) {
+                controlify.getControllerManager().ifPresent(manager -> manager.sampleInput(controller));
+                updateLookInput(player, frameLookAiming, frameLookFlickStick, deltaTime, controller.input().map(InputComponent::sampledState).orElse(null));
+            } else {
+                lookInputX = 0;
+                lookInputY = 0;
+            }
+        }
+
+        player.turn(lookInputX / 0.15f * deltaTime, lookInputY / 0.15f * deltaTime);
+
+        if (InputLatency.ENABLED && (lookInputX != 0 || lookInputY != 0)) {
+            recordLookLatency();
+        }
+    }
+
+    private void recordLookLatency() {
+        InputComponent input = controller.input().orElse(null);
+        if (input == null)
+            return;
+
+        // only the first frame to turn with a state is its latency, later frames are reusing it
+        long timestamp = frameLookEnabled ? input.sampledStateTimestamp() : input.stateTimestamp();
+        if (timestamp != lastLookTimestamp) {
+            InputLatency.recordSince(InputLatency.Stage.LOOK, timestamp);
+            lastLookTimestamp = timestamp;
         }
     }
 
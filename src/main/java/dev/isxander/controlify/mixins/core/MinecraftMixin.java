@@ -140,6 +140,21 @@ public abstract class MinecraftMixin implements InitialScreenRegistryDuck {
         Animator.INSTANCE.tick(getTickDelta());
     }
 
+    @Inject(
+            method = "runTick",
+            at = @At(
+                    value = "INVOKE",
+                    /*? if >1.20.6 {*/
+                    target = "Lnet/minecraft/client/renderer/GameRenderer;render(Lnet/minecraft/client/DeltaTracker;Z)V"
+                    /*?} else {*/
+                    /*target = "Lnet/minecraft/client/renderer/GameRenderer;render(FJZ)V"
+                    *//*?}*/
+            )
+    )
+    private void updateRumbleOutput(boolean tick, CallbackInfo ci) {
+        Controlify.instance().updateRumbleOutput();
+    }
+
     /*? if >1.20.1 {*/
     @Inject(method = "addInitialScreens", at = @At("TAIL"))
     private void injectCustomInitialScreens(List<Function<Runnable, Screen>> output, CallbackInfo ci) {
@@ -0,0 +1,18 @@
+package dev.isxander.controlify.mixins.feature.debug;
+
+import dev.isxander.controlify.utils.DebugOverlayHelper;
+import net.minecraft.client.gui.components.DebugScreenOverlay;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.List;
+
+@Mixin(DebugScreenOverlay.class)
+public class DebugScreenOverlayMixin {
+    @Inject(method = "getSystemInformation", at = @At("RETURN"))
+    private void addInputLatency(CallbackInfoReturnable<List<String>> cir) {
+        DebugOverlayHelper.addInputLatencyInfo(cir.getReturnValue());
+    }
+}
@@ -4,6 +4,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
 import org.apache.commons.lang3.Validate;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.BooleanSupplier;
@@ -11,13 +12,20 @@ import java.util.function.Function;
 
 public final class BasicRumbleEffect implements RumbleEffect {
     private final RumbleState[] keyframes;
+    // if each keyframe blends into the next between ticks, rather than stepping to it
+    private final boolean[] interpolated;
     private int tick = 0;
     private boolean finished;
     private int priority = 0;
     private BooleanSupplier earlyFinishCondition = () -> false;
 
     public BasicRumbleEffect(RumbleState[] keyframes) {
+        this(keyframes, new boolean[keyframes.length]);
+    }
+
+    private BasicRumbleEffect(RumbleState[] keyframes, boolean[] interpolated) {
         this.keyframes = keyframes;
+        this.interpolated = interpolated;
     }
 
     @Override
@@ -35,6 +43,15 @@ public final class BasicRumbleEffect implements RumbleEffect {
         return keyframes[tick - 1];
     }
 
+    @Override
+    public RumbleState stateAt(float partialTick) {
+        RumbleState current = currentState();
+        if (tick >= keyframes.length || !interpolated[tick - 1])
+            return current;
+
+        return RumbleState.lerp(partialTick, current, keyframes[tick]);
+    }
+
     @Override
     public int age() {
         return tick;
@@ -86,6 +103,33 @@ public final class BasicRumbleEffect implements RumbleEffect {
                 "priority=" + this.priority() + ']';
     }
 
+    /**
+     * Combines the rest of this effect with another effect starting now, taking the
+     * strongest state of either at every tick, so they can play as a single effect.
+     * The combined effect carries on from this effect's current tick, and only finishes early once both would have.
+     */
+    public BasicRumbleEffect coalesce(BasicRumbleEffect other) {
+        int start = Math.max(0, tick - 1);
+        int remaining = keyframes.length - start;
+        int length = Math.max(remaining, other.keyframes.length);
+
+        RumbleState[] states = new RumbleState[length];
+        boolean[] interpolated = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            RumbleState a = i < remaining ? keyframes[start + i] : RumbleState.NONE;
+            RumbleState b = i < other.keyframes.length ? other.keyframes[i] : RumbleState.NONE;
+            states[i] = new RumbleState(Math.max(a.strong(), b.strong()), Math.max(a.weak(), b.weak()));
+            interpolated[i] = (i < remaining && this.interpolated[start + i]) || (i < other.keyframes.length && other.interpolated[i]);
+        }
+
+        BooleanSupplier thisCondition = this.earlyFinishCondition, otherCondition = other.earlyFinishCondition;
+        BasicRumbleEffect effect = new BasicRumbleEffect(states, interpolated)
+                .prioritised(Math.max(this.priority, other.priority));
+        effect.earlyFinishCondition = () -> thisCondition.getAsBoolean() && otherCondition.getAsBoolean();
+        effect.tick = Math.min(tick, 1);
+        return effect;
+    }
+
     public BasicRumbleEffect join(BasicRumbleEffect other) {
         return BasicRumbleEffect.join(this, other);
     }
@@ -123,7 +167,25 @@ public final class BasicRumbleEffect implements RumbleEffect {
      * @param durationTicks how many ticks the effect should last for.
      */
     public static BasicRumbleEffect byTime(Function<Float, RumbleState> stateFunction, int durationTicks) {
-        return BasicRumbleEffect.byTick(tick -> stateFunction.apply((float) tick / (float) durationTicks), durationTicks);
+        RumbleState[] states = new RumbleState[durationTicks];
+        boolean[] interpolated = new boolean[durationTicks];
+        for (int i = 0; i < durationTicks; i++) {
+            states[i] = stateFunction.apply((float) i / (float) durationTicks);
+            // the function is continuous, so blend between ticks within it
+            interpolated[i] = i < durationTicks - 1;
+        }
+        return new BasicRumbleEffect(states, interpolated);
+    }
+
+    /**
+     * Creates a rumble effect from a function that takes a time value from 0, start, to 1, end, and returns that tick.
+     * The state is interpolated between ticks.
+     *
+     * @param stateFunction the function that takes the time value and returns the state for that time.
+     * @param duration how long the effect should last for, rounded to the nearest tick.
+     */
+    public static BasicRumbleEffect byTime(Function<Float, RumbleState> stateFunction, Duration duration) {
+        return BasicRumbleEffect.byTime(stateFunction, RumbleEffect.toTicks(duration));
     }
 
     /**
@@ -137,10 +199,25 @@ public final class BasicRumbleEffect implements RumbleEffect {
         return BasicRumbleEffect.byTick(tick -> new RumbleState(strong, weak), durationTicks);
     }
 
+    /**
+     * Creates a rumble effect that has a constant state.
+     *
+     * @param strong   the strong motor magnitude.
+     * @param weak     the weak motor magnitude
+     * @param duration how long the effect should last for, rounded to the nearest tick.
+     */
+    public static BasicRumbleEffect constant(float strong, float weak, Duration duration) {
+        return BasicRumbleEffect.constant(strong, weak, RumbleEffect.toTicks(duration));
+    }
+
     public static BasicRumbleEffect empty(int durationTicks) {
         return BasicRumbleEffect.byTick(tick -> new RumbleState(0f, 0f), durationTicks);
     }
 
+    public static BasicRumbleEffect empty(Duration duration) {
+        return BasicRumbleEffect.empty(RumbleEffect.toTicks(duration));
+    }
+
     public static BasicRumbleEffect join(BasicRumbleEffect... effects) {
         int totalTicks = 0;
         for (BasicRumbleEffect effect : effects) {
@@ -148,15 +225,17 @@ public final class BasicRumbleEffect implements RumbleEffect {
         }
 
         RumbleState[] states = new RumbleState[totalTicks];
+        boolean[] interpolated = new boolean[totalTicks];
         int currentTick = 0;
         for (BasicRumbleEffect effect : effects) {
-            for (RumbleState state : effect.states()) {
-                states[currentTick] = state;
-                currentTick++;
-            }
+            int length = effect.states().length;
+            System.arraycopy(effect.states(), 0, states, currentTick, length);
+            // never blend across the join, only within each effect
+            System.arraycopy(effect.interpolated, 0, interpolated, currentTick, length);
+            currentTick += length;
         }
 
-        return new BasicRumbleEffect(states);
+        return new BasicRumbleEffect(states, interpolated);
     }
 
     public static BooleanSupplier finishOnScreenChange() {
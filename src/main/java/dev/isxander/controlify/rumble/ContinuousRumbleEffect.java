@@ -5,12 +5,13 @@ import net.minecraft.util.Mth;
 import net.minecraft.world.phys.Vec3;
 import org.apache.commons.lang3.Validate;
 
+import java.time.Duration;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class ContinuousRumbleEffect implements RumbleEffect {
-    private final Function<Integer, RumbleState> stateFunction;
+    private final Envelope envelope;
     private final int priority;
     private final int timeout;
     private final int minTime;
@@ -20,7 +21,11 @@ public class ContinuousRumbleEffect implements RumbleEffect {
     private BooleanSupplier stopCondition;
 
     public ContinuousRumbleEffect(Function<Integer, RumbleState> stateFunction, int priority, int timeout, int minTime, BooleanSupplier stopCondition) {
-        this.stateFunction = stateFunction;
+        this(Envelope.byTick(stateFunction), priority, timeout, minTime, stopCondition);
+    }
+
+    private ContinuousRumbleEffect(Envelope envelope, int priority, int timeout, int minTime, BooleanSupplier stopCondition) {
+        this.envelope = envelope;
         this.priority = priority;
         this.timeout = timeout;
         this.minTime = minTime;
@@ -40,7 +45,15 @@ public class ContinuousRumbleEffect implements RumbleEffect {
         if (tick == 0)
             throw new IllegalStateException("Effect hasn't ticked yet.");
 
-        return stateFunction.apply(tick - 1);
+        return envelope.stateAt(tick - 1);
+    }
+
+    @Override
+    public RumbleState stateAt(float partialTick) {
+        if (tick == 0)
+            throw new IllegalStateException("Effect hasn't ticked yet.");
+
+        return envelope.stateAt(tick - 1 + partialTick);
     }
 
     public void stop() {
@@ -71,7 +84,7 @@ public class ContinuousRumbleEffect implements RumbleEffect {
     }
 
     public static class Builder {
-        private Function<Integer, RumbleState> stateFunction;
+        private Envelope envelope;
         private int priority;
         private int timeout = -1;
         private int minTime;
@@ -82,12 +95,21 @@ public class ContinuousRumbleEffect implements RumbleEffect {
         }
 
         public Builder byTick(Function<Integer, RumbleState> stateFunction) {
-            this.stateFunction = stateFunction;
+            this.envelope = Envelope.byTick(stateFunction);
+            return this;
+        }
+
+        /**
+         * @param stateFunction takes the seconds since the effect started and returns the state for that time,
+         *                      sampled continuously rather than once per tick.
+         */
+        public Builder byTime(Function<Float, RumbleState> stateFunction) {
+            this.envelope = ticks -> stateFunction.apply(ticks / 20f);
             return this;
         }
 
         public Builder constant(RumbleState state) {
-            this.stateFunction = tick -> state;
+            this.envelope = ticks -> state;
             return this;
         }
 
@@ -102,6 +124,13 @@ public class ContinuousRumbleEffect implements RumbleEffect {
             return this;
         }
 
+        /**
+         * @param timeout rounded to the nearest tick
+         */
+        public Builder timeout(Duration timeout) {
+            return this.timeout(RumbleEffect.toTicks(timeout));
+        }
+
         public Builder minTime(int minTimeTicks) {
             Validate.isTrue(minTimeTicks >= 0, "the minimum time cannot be negative!");
 
@@ -109,6 +138,13 @@ public class ContinuousRumbleEffect implements RumbleEffect {
             return this;
         }
 
+        /**
+         * @param minTime rounded to the nearest tick
+         */
+        public Builder minTime(Duration minTime) {
+            return this.minTime(RumbleEffect.toTicks(minTime));
+        }
+
         public Builder priority(int priority) {
             this.priority = priority;
             return this;
@@ -127,19 +163,19 @@ public class ContinuousRumbleEffect implements RumbleEffect {
         }
 
         public ContinuousRumbleEffect build() {
-            Validate.notNull(stateFunction, "stateFunction cannot be null!");
+            Validate.notNull(envelope, "stateFunction cannot be null!");
             Validate.isTrue(minTime <= timeout || timeout == -1, "the minimum time cannot be greater than the timeout!");
 
-            var stateFunction = this.stateFunction;
+            var envelope = this.envelope;
             if (inWorldProperties != null)
-                stateFunction = inWorldProperties.modify(stateFunction);
+                envelope = inWorldProperties.modify(envelope);
 
-            return new ContinuousRumbleEffect(stateFunction, priority, timeout, minTime, stopCondition);
+            return new ContinuousRumbleEffect(envelope, priority, timeout, minTime, stopCondition);
         }
 
         private record InWorldProperties(Supplier<Vec3> sourceLocation, float minMagnitude, float maxMagnitude, float effectRange, Function<Float, Float> fallofFunction) {
-            private Function<Integer, RumbleState> modify(Function<Integer, RumbleState> stateFunction) {
-                return tick -> {
+            private Envelope modify(Envelope envelope) {
+                return ticks -> {
                     if (Minecraft.getInstance().cameraEntity == null)
                         return RumbleState.NONE;
 
@@ -147,9 +183,24 @@ public class ContinuousRumbleEffect implements RumbleEffect {
                     float normalizedDistance = Mth.clamp(distanceSqr / (effectRange * effectRange), 0, 1);
                     float multiplier = Mth.lerp(fallofFunction.apply(1f - normalizedDistance), minMagnitude, maxMagnitude);
 
-                    return stateFunction.apply(tick).mul(multiplier);
+                    return envelope.stateAt(ticks).mul(multiplier);
                 };
             }
         }
     }
+
+    /**
+     * The state of the effect at any point in time, in fractional ticks since it started.
+     */
+    @FunctionalInterface
+    private interface Envelope {
+        RumbleState stateAt(float ticks);
+
+        /**
+         * Steps between the states of a function that is only defined every tick.
+         */
+        static Envelope byTick(Function<Integer, RumbleState> stateFunction) {
+            return ticks -> stateFunction.apply((int) ticks);
+        }
+    }
 }
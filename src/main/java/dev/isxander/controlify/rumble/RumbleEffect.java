@@ -1,14 +1,33 @@
 package dev.isxander.controlify.rumble;
 
+import java.time.Duration;
+
 public interface RumbleEffect extends Comparable<RumbleEffect> {
     void tick();
     RumbleState currentState();
 
+    /**
+     * The state of the effect part way through the current tick, so rumble can be output
+     * more often than every tick. Only valid once the effect has ticked.
+     *
+     * @param partialTick from 0, the {@link #currentState()}, to 1, the state after the next tick.
+     */
+    default RumbleState stateAt(float partialTick) {
+        return currentState();
+    }
+
     boolean isFinished();
 
     int priority();
     int age();
 
+    /**
+     * @return the whole number of ticks closest to the duration, at least one
+     */
+    static int toTicks(Duration duration) {
+        return Math.max(1, Math.round(duration.toNanos() / 50_000_000f));
+    }
+
     @Override
     default int compareTo(RumbleEffect o) {
         int priorityCompare = Integer.compare(o.priority(), this.priority());
@@ -1,21 +1,41 @@
 package dev.isxander.controlify.rumble;
 
+import dev.isxander.controlify.Controlify;
+import dev.isxander.controlify.config.GlobalSettings;
 import dev.isxander.controlify.controller.rumble.RumbleComponent;
-import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.PriorityQueue;
-import java.util.Queue;
 
+/**
+ * Plays rumble effects on a controller.
+ * <p>
+ * Effects advance every tick, but their output is interpolated by the real time elapsed since the tick
+ * and sent at the configured output rate with {@link #update()}, independent of the tick rate.
+ * A state is only sent to the controller when it changes.
+ * <p>
+ * Effects play in a fixed number of voices, so the cost of rumble is bounded however many effects are played.
+ * A {@link BasicRumbleEffect} played from the same source and priority as one already playing is coalesced into it,
+ * otherwise when every voice is busy, the lowest priority effect is stopped to make room.
+ */
 public class RumbleManager {
+    private static final long TICK_NANOS = 50_000_000L;
+    /** drivers play each state for a few seconds, unchanged states are resent well before that runs out */
+    private static final long RESEND_NANOS = 1_000_000_000L;
+
+    private static final Comparator<Voice> VOICE_PRIORITY = Comparator.nullsLast(Comparator.comparing(Voice::effect));
+
     private final RumbleComponent controller;
-    private final Queue<RumbleEffectInstance> effectQueue;
+    // null when free
+    private Voice[] voices;
 
     private boolean silent, wasSilent;
+    private long lastTickNanos, lastOutputNanos, lastSentNanos;
+    private int lastSentState;
 
     public RumbleManager(RumbleComponent controller) {
         this.controller = controller;
-        this.effectQueue = new PriorityQueue<>(Comparator.comparing(RumbleEffectInstance::effect));
+        this.voices = new Voice[GlobalSettings.DEFAULT.rumbleVoices];
     }
 
     @Deprecated
@@ -24,37 +44,103 @@ public class RumbleManager {
     }
 
     public void play(RumbleSource source, RumbleEffect effect) {
-        effectQueue.add(new RumbleEffectInstance(source, effect));
+        resizeVoices();
+
+        int free = -1;
+        for (int i = 0; i < voices.length; i++) {
+            Voice voice = voices[i];
+            if (voice == null) {
+                if (free == -1) free = i;
+            } else if (voice.source.equals(source)
+                    && effect instanceof BasicRumbleEffect basic
+                    && voice.effect instanceof BasicRumbleEffect playing
+                    && playing.priority() == basic.priority()) {
+                Voice coalesced = new Voice(source, playing.coalesce(basic));
+                coalesced.ticked = voice.ticked;
+                voices[i] = coalesced;
+                return;
+            }
+        }
+
+        if (free == -1) {
+            // steal from the lowest priority, oldest effect if the new one is at least as important
+            free = lowestPriorityVoice();
+            if (voices[free].effect.priority() > effect.priority())
+                return;
+        }
+
+        voices[free] = new Voice(source, effect);
     }
 
     public void tick() {
-        effectQueue.removeIf(e -> e.effect().isFinished());
-        effectQueue.forEach(e -> e.effect().tick());
+        resizeVoices();
+
+        for (int i = 0; i < voices.length; i++) {
+            Voice voice = voices[i];
+            if (voice == null)
+                continue;
+
+            if (voice.effect.isFinished()) {
+                voices[i] = null;
+            } else {
+                voice.effect.tick();
+                voice.ticked = true;
+            }
+        }
 
-        if (effectQueue.isEmpty()) {
+        lastTickNanos = System.nanoTime();
+        output(lastTickNanos);
+    }
+
+    /**
+     * Outputs the state of the playing effects at the current time, if it is time to.
+     * Called every frame, but only outputs at the configured rate.
+     */
+    public void update() {
+        long now = System.nanoTime();
+        int outputRate = Controlify.instance().config().globalSettings().rumbleOutputRate;
+        if (now - lastOutputNanos >= 1_000_000_000L / Math.max(1, outputRate)) {
+            output(now);
+        }
+    }
+
+    private void output(long now) {
+        lastOutputNanos = now;
+
+        if (silent || !isPlaying()) {
             clearRumble();
             return;
         }
 
+        float partialTick = Math.min(1f, (now - lastTickNanos) / (float) TICK_NANOS);
+        RumbleMixLaw mixLaw = Controlify.instance().config().globalSettings().rumbleMixLaw;
+
         float strong = 0f, weak = 0f;
-        for (RumbleEffectInstance effect : effectQueue) {
-            RumbleState effectState = controller.config().config().applyRumbleStrength(effect.effect().currentState(), effect.source());
-            strong = Math.max(strong, effectState.strong());
-            weak = Math.max(weak, effectState.weak());
+        for (Voice voice : voices) {
+            // effects have no state until they first tick
+            if (voice == null || !voice.ticked)
+                continue;
+
+            RumbleState effectState = controller.config().config().applyRumbleStrength(voice.effect.stateAt(partialTick), voice.source);
+            strong = mixLaw.mix(strong, effectState.strong());
+            weak = mixLaw.mix(weak, effectState.weak());
         }
-        RumbleState state = new RumbleState(strong, weak);
+        RumbleState state = new RumbleState(mixLaw.limit(strong), mixLaw.limit(weak));
 
         if (state.isZero()) {
             clearRumble();
             return;
         }
 
-        if (silent) {
-            clearRumble();
-        } else {
-            controller.queueRumble(state);
-            wasSilent = false;
-        }
+        // compare at the resolution the motors are driven at
+        int packedState = RumbleState.packToInt(state);
+        if (!wasSilent && packedState == lastSentState && now - lastSentNanos < RESEND_NANOS)
+            return;
+
+        controller.queueRumble(state);
+        lastSentState = packedState;
+        lastSentNanos = now;
+        wasSilent = false;
     }
 
     private void clearRumble() {
@@ -66,7 +152,7 @@ public class RumbleManager {
     }
 
     public void clearEffects() {
-        effectQueue.clear();
+        Arrays.fill(voices, null);
     }
 
     public void setSilent(boolean silent) {
@@ -74,13 +160,47 @@ public class RumbleManager {
     }
 
     public boolean isPlaying() {
-        return !effectQueue.isEmpty();
+        for (Voice voice : voices) {
+            if (voice != null)
+                return true;
+        }
+        return false;
+    }
+
+    private int lowestPriorityVoice() {
+        int lowest = 0;
+        for (int i = 1; i < voices.length; i++) {
+            if (VOICE_PRIORITY.compare(voices[i], voices[lowest]) > 0)
+                lowest = i;
+        }
+        return lowest;
     }
 
-    private record RumbleEffectInstance(RumbleSource source, RumbleEffect effect) implements Comparable<RumbleEffectInstance> {
-        @Override
-        public int compareTo(@NotNull RumbleManager.RumbleEffectInstance o) {
-            return effect.compareTo(o.effect);
+    /**
+     * Follows the configured voice count, keeping the highest priority effects if it shrinks.
+     */
+    private void resizeVoices() {
+        int count = Math.max(1, Controlify.instance().config().globalSettings().rumbleVoices);
+        if (count == voices.length)
+            return;
+
+        Voice[] sorted = voices.clone();
+        Arrays.sort(sorted, VOICE_PRIORITY);
+        voices = Arrays.copyOf(sorted, count);
+    }
+
+    private static final class Voice {
+        private final RumbleSource source;
+        private final RumbleEffect effect;
+        private boolean ticked;
+
+        private Voice(RumbleSource source, RumbleEffect effect) {
+            this.source = source;
+            this.effect = effect;
+        }
+
+        private RumbleEffect effect() {
+            return effect;
         }
     }
 }
@@ -0,0 +1,59 @@
+package dev.isxander.controlify.rumble;
+
+import dev.isxander.yacl3.api.NameableEnum;
+import net.minecraft.network.chat.Component;
+
+/**
+ * How the motor strengths of simultaneously playing rumble effects are combined.
+ */
+public enum RumbleMixLaw implements NameableEnum {
+    /** the strongest effect wins, weaker effects are masked */
+    MAX {
+        @Override
+        public float mix(float mixed, float value) {
+            return Math.max(mixed, value);
+        }
+    },
+    /** effects add together, and the total is softly limited to full strength */
+    SUM_LIMITED {
+        @Override
+        public float mix(float mixed, float value) {
+            return mixed + value;
+        }
+
+        @Override
+        public float limit(float mixed) {
+            if (mixed <= LIMITER_KNEE)
+                return mixed;
+
+            // compress everything above the knee smoothly towards full strength
+            float headroom = 1f - LIMITER_KNEE;
+            return LIMITER_KNEE + headroom * (float) Math.tanh((mixed - LIMITER_KNEE) / headroom);
+        }
+    };
+
+    private static final float LIMITER_KNEE = 0.8f;
+
+    private final Component displayName;
+
+    RumbleMixLaw() {
+        this.displayName = Component.translatable("controlify.rumble_mix_law." + this.name().toLowerCase());
+    }
+
+    /**
+     * Adds the strength of an effect to the strength of effects mixed so far.
+     */
+    public abstract float mix(float mixed, float value);
+
+    /**
+     * Brings the mixed strength of every effect back into the 0-1 range.
+     */
+    public float limit(float mixed) {
+        return Math.min(mixed, 1f);
+    }
+
+    @Override
+    public Component getDisplayName() {
+        return displayName;
+    }
+}
@@ -16,6 +16,13 @@ public record RumbleState(float strong, float weak) {
         return new RumbleState(strong * multiplier, weak * multiplier);
     }
 
+    public static RumbleState lerp(float delta, RumbleState start, RumbleState end) {
+        return new RumbleState(
+                start.strong + (end.strong - start.strong) * delta,
+                start.weak + (end.weak - start.weak) * delta
+        );
+    }
+
     public static RumbleState unpackFromInt(int packed) {
         float strong = (short)(packed >> 16) / 32767.0F;
         float weak = (short)packed / 32767.0F;
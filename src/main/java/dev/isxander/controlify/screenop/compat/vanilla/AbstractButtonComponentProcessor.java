@@ -18,7 +18,7 @@ public class AbstractButtonComponentProcessor implements ComponentProcessor {
     @Override
     public boolean overrideControllerButtons(ScreenProcessor<?> screen, ControllerEntity controller) {
         if (ControlifyBindings.GUI_PRESS.on(controller).guiPressed().get()) {
-            controller.hdHaptics().ifPresent(hh -> hh.playHaptic(HapticEffects.NAVIGATE));
+            controller.hdHaptics().ifPresent(hh -> hh.playHaptic(HapticEffects.CLICK));
             button.playDownSound(Minecraft.getInstance().getSoundManager());
             button.onPress();
             return true;
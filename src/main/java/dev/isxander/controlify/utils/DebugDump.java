@@ -2,7 +2,9 @@ package dev.isxander.controlify.utils;
 
 import dev.isxander.controlify.Controlify;
 import dev.isxander.controlify.controller.ControllerEntity;
+import dev.isxander.controlify.controller.haptic.HapticBufferLibrary;
 import dev.isxander.controlify.controllermanager.ControllerManager;
+import dev.isxander.controlify.debug.InputLatency;
 import dev.isxander.controlify.driver.SDL3NativesManager;
 import dev.isxander.controlify.platform.Environment;
 import dev.isxander.controlify.platform.main.PlatformMainUtil;
@@ -84,6 +86,20 @@ public class DebugDump {
             }
             dump.popIndent(); // connected controllers
         }
+
+        HapticBufferLibrary.Stats haptics = HapticBufferLibrary.INSTANCE.stats();
+        dump.line();
+        dump.line("Haptic cache:").pushIndent();
+        dump.line("Haptics: ", haptics.haptics(), " (", haptics.bytes() / 1024, " KiB)");
+        dump.line("Hits: ", haptics.hits(), ", misses: ", haptics.misses(), ", evictions: ", haptics.evictions());
+        dump.popIndent(); // haptic cache
+
+        if (InputLatency.ENABLED) {
+            dump.line();
+            dump.line("Input latency:").pushIndent();
+            InputLatency.describe().forEach(dump::line);
+            dump.popIndent(); // input latency
+        }
     }
 
     private static class IndentedStringBuilder {
@@ -1,11 +1,14 @@
 package dev.isxander.controlify.utils;
 
+import dev.isxander.controlify.debug.InputLatency;
 import dev.isxander.controlify.mixins.feature.input.DebugScreenOverlayAccessor;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.network.chat.CommonComponents;
 import net.minecraft.network.chat.Component;
 
+import java.util.List;
+
 public final class DebugOverlayHelper {
     private static final Minecraft mc = Minecraft.getInstance();
 
@@ -47,6 +50,18 @@ public final class DebugOverlayHelper {
     }
     *///?}
 
+    /**
+     * Adds the input latency percentiles to the debug overlay, if they are being measured.
+     */
+    public static void addInputLatencyInfo(List<String> lines) {
+        if (!InputLatency.ENABLED)
+            return;
+
+        lines.add("");
+        lines.add(ChatFormatting.UNDERLINE + "Controlify Input Latency");
+        lines.addAll(InputLatency.describe());
+    }
+
     public static void reloadChunks() {
         mc.levelRenderer.allChanged();
         debugFeedbackTranslated("debug.reload_chunks.message");
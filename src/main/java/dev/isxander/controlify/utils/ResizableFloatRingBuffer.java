@@ -0,0 +1,83 @@
+package dev.isxander.controlify.utils;
+
+/**
+ * A ring buffer of primitive floats, so pushing and reading never box.
+ * Slots that have never been written read as {@code 0}.
+ */
+public class ResizableFloatRingBuffer {
+    private float[] elements;
+
+    /** index of the most recently pushed element */
+    private int tail;
+
+    public ResizableFloatRingBuffer(int initialSize) {
+        if (initialSize < 1)
+            throw new IllegalArgumentException("Size must be at least 1");
+
+        this.elements = new float[initialSize];
+        this.tail = initialSize - 1;
+    }
+
+    public void push(float element) {
+        tail = wrapIndex(tail + 1);
+        elements[tail] = element;
+    }
+
+    /**
+     * @return the oldest element
+     */
+    public float head() {
+        return tail(elements.length - 1);
+    }
+
+    /**
+     * @return the element pushed {@code offset} pushes after the oldest
+     */
+    public float head(int offset) {
+        return tail(elements.length - 1 - offset);
+    }
+
+    /**
+     * @return the most recently pushed element
+     */
+    public float tail() {
+        return elements[tail];
+    }
+
+    /**
+     * @return the element pushed {@code offset} pushes before the most recent
+     */
+    public float tail(int offset) {
+        return elements[wrapIndex(tail - offset)];
+    }
+
+    /**
+     * Resizes the buffer, keeping the most recent elements.
+     * When growing, the new slots are older than every existing element and read as {@code 0}.
+     */
+    public void setSize(int newSize) {
+        if (newSize < 1)
+            throw new IllegalArgumentException("Size must be at least 1");
+        if (newSize == elements.length)
+            return;
+
+        float[] newElements = new float[newSize];
+        int kept = Math.min(elements.length, newSize);
+        for (int i = 0; i < kept; i++) {
+            newElements[kept - 1 - i] = tail(i);
+        }
+
+        this.elements = newElements;
+        this.tail = kept - 1;
+    }
+
+    public int size() {
+        return this.elements.length;
+    }
+
+    private int wrapIndex(int index) {
+        int size = elements.length;
+        index %= size;
+        return index < 0 ? index + size : index;
+    }
+}
@@ -0,0 +1,63 @@
+package dev.isxander.controlify.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free handoff of the latest value from a single writer thread to a single reader thread.
+ * <p>
+ * The writer fills {@link #writeBuffer()} and {@link #publish() publishes} it, the reader
+ * {@link #acquire() acquires} the most recently published buffer and reads {@link #readBuffer()}.
+ * Neither side ever blocks or sees a buffer the other is using, and intermediate values
+ * published between two acquires are skipped.
+ */
+public final class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100;
+
+    private final Object[] buffers;
+    /** index of the buffer between the writer and reader, and whether it has been published since last acquired */
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    public TripleBuffer(Supplier<T> factory) {
+        this.buffers = new Object[] { factory.get(), factory.get(), factory.get() };
+    }
+
+    /**
+     * Writer only. The buffer to write the next value into.
+     */
+    @SuppressWarnings("unchecked")
+    public T writeBuffer() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Writer only. Hands the write buffer to the reader, and gets a new one to write into.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Reader only. Swaps in the most recently published buffer, if there is one.
+     *
+     * @return true if a new buffer was acquired, otherwise {@link #readBuffer()} is unchanged
+     */
+    public boolean acquire() {
+        if ((middle.get() & FRESH) == 0)
+            return false;
+
+        front = middle.getAndSet(front) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * Reader only. The most recently acquired buffer.
+     */
+    @SuppressWarnings("unchecked")
+    public T readBuffer() {
+        return (T) buffers[front];
+    }
+}
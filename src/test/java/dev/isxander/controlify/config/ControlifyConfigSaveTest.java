@@ -0,0 +1,146 @@
+package dev.isxander.controlify.config;
+
+import com.google.gson.JsonObject;
+import dev.isxander.controlify.Controlify;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ControlifyConfigSaveTest {
+    private static final int THREADS = 8;
+    private static final int SAVES_PER_THREAD = 250;
+
+    @TempDir
+    Path dir;
+
+    private Path configPath;
+    private ControlifyConfig config;
+
+    @BeforeEach
+    void setUp() {
+        configPath = dir.resolve("controlify.json");
+        // with no controller manager or current controller, only global settings are saved
+        config = new ControlifyConfig(mock(Controlify.class), configPath);
+    }
+
+    @Test
+    void concurrentSavesNeverTearAndKeepTheLatest() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // not an interrupt, that would close the file channel of a read in progress
+        AtomicBoolean saving = new AtomicBoolean(true);
+        int[] lastValue = {0};
+
+        List<Thread> savers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread saver = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < SAVES_PER_THREAD; j++) {
+                        // save is synchronized on the config, so the last value set is the last snapshot taken
+                        synchronized (config) {
+                            config.globalSettings().inputPollingRate = ++lastValue[0];
+                            config.save();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            saver.start();
+            savers.add(saver);
+        }
+
+        Thread reader = new Thread(() -> {
+            try {
+                start.await();
+                while (saving.get()) {
+                    try {
+                        readPollingRate();
+                    } catch (NoSuchFileException e) {
+                        // nothing written yet
+                    }
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        reader.start();
+
+        start.countDown();
+        for (Thread saver : savers) {
+            saver.join();
+        }
+        config.flush();
+        saving.set(false);
+        reader.join();
+
+        if (failure.get() != null) {
+            fail("Config file was torn or a save failed", failure.get());
+        }
+
+        assertEquals(THREADS * SAVES_PER_THREAD, lastValue[0]);
+        assertEquals(lastValue[0], readPollingRate());
+        assertFalse(Files.exists(configPath.resolveSibling("controlify.json.tmp")), "Temporary file was left behind");
+    }
+
+    @Test
+    void flushWritesAPendingSave() throws Exception {
+        config.globalSettings().inputPollingRate = 1;
+        config.save();
+        // as if the client is stopping, well before the debounced write would happen
+        config.flush();
+
+        assertEquals(1, readPollingRate());
+    }
+
+    @Test
+    void debouncedWriteAfterFlushDoesNotWriteStaleConfig() throws Exception {
+        config.globalSettings().inputPollingRate = 1;
+        config.save();
+        config.flush();
+
+        config.globalSettings().inputPollingRate = 2;
+        config.save();
+        config.flush();
+
+        // let the writes scheduled by both saves run
+        Thread.sleep(1000);
+
+        assertEquals(2, readPollingRate());
+    }
+
+    @Test
+    void burstOfSavesWritesTheLatest() throws Exception {
+        for (int i = 1; i <= 100; i++) {
+            config.globalSettings().inputPollingRate = i;
+            config.save();
+        }
+
+        Thread.sleep(1000);
+
+        assertEquals(100, readPollingRate());
+    }
+
+    private int readPollingRate() throws IOException {
+        String contents = Files.readString(configPath);
+        assertFalse(contents.isBlank(), "Config file was empty");
+
+        JsonObject json = ControlifyConfig.GSON.fromJson(contents, JsonObject.class);
+        assertNotNull(json, "Config file was empty");
+        return json.getAsJsonObject("global").get("input_polling_rate").getAsInt();
+    }
+}
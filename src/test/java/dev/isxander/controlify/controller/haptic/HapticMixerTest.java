@@ -0,0 +1,146 @@
+package dev.isxander.controlify.controller.haptic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HapticMixerTest {
+    // powers of two, so envelope times land exactly on frames
+    private static final int SAMPLE_RATE = 1024;
+    private static final float SIXTEEN_FRAMES = 16f / SAMPLE_RATE;
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    void oldestVoiceIsStolenWhenAllAreBusy() {
+        HapticMixer mixer = new HapticMixer(SAMPLE_RATE, 1, 0);
+
+        float expected = 0;
+        for (int i = 0; i < HapticMixer.MAX_VOICES; i++) {
+            float value = (i + 1) / 1024f;
+            mixer.play(constant(value, 1, 100));
+            // the first is the oldest, so it is the one cut off
+            if (i > 0) expected += value;
+        }
+        mixer.play(constant(0.25f, 1, 100));
+        expected += 0.25f;
+
+        float[] out = new float[1];
+        mixer.render(out, 1);
+
+        assertEquals(expected, out[0], EPSILON);
+    }
+
+    @Test
+    void recordedHapticEndsAfterItsLastFrame() {
+        HapticMixer mixer = new HapticMixer(SAMPLE_RATE, 2, 0);
+        mixer.play(constant(0.5f, 2, 3));
+
+        float[] out = new float[10];
+        mixer.render(out, 5);
+
+        assertArrayEquals(new float[] {0.5f, 0.5f, 0.5f, 0.5f, 0.5f, 0.5f, 0f, 0f, 0f, 0f}, out);
+        assertFalse(mixer.isPlaying());
+    }
+
+    @Test
+    void envelopeShapesTheLayerAndEndsWithIt() {
+        HapticMixer mixer = new HapticMixer(SAMPLE_RATE, 2, 0);
+        // a square wave with no frequency stays at 1, so the output is the envelope
+        SynthHaptic.Envelope envelope = new SynthHaptic.Envelope(SIXTEEN_FRAMES, SIXTEEN_FRAMES, 0.5f, SIXTEEN_FRAMES, SIXTEEN_FRAMES);
+        mixer.play(SynthHaptic.builder()
+                .layer(SynthHaptic.Waveform.SQUARE, 0f, envelope, 0.8f)
+                .build());
+
+        float[] out = new float[80 * 2];
+        mixer.render(out, 32);
+        assertTrue(mixer.isPlaying(), "Layer should still be playing part way through");
+        float[] rest = new float[48 * 2];
+        mixer.render(rest, 48);
+        System.arraycopy(rest, 0, out, 32 * 2, rest.length);
+
+        assertFrame(out, 2, 0, 0f);
+        assertFrame(out, 2, 8, 0.4f); // half way through the attack
+        assertFrame(out, 2, 16, 0.8f); // peak
+        assertFrame(out, 2, 24, 0.6f); // half way through the decay to the sustain level
+        assertFrame(out, 2, 40, 0.4f); // sustain
+        assertFrame(out, 2, 56, 0.2f); // half way through the release
+        for (int frame = 64; frame < 80; frame++) {
+            assertFrame(out, 2, frame, 0f);
+        }
+        assertFalse(mixer.isPlaying(), "Layer should have ended with its envelope");
+        assertEquals(4 * SIXTEEN_FRAMES, envelope.duration(), EPSILON);
+    }
+
+    @Test
+    void summedVoicesAreClipped() {
+        HapticMixer mixer = new HapticMixer(SAMPLE_RATE, 2, 0);
+        mixer.play(new float[] {0.8f, -0.8f});
+        mixer.play(new float[] {0.8f, -0.8f});
+        // only the total is clipped, so the second channel comes back in range
+        mixer.play(new float[] {0.1f, 0.7f});
+
+        float[] out = new float[2];
+        mixer.render(out, 1);
+
+        assertArrayEquals(new float[] {1f, -0.9f}, out, EPSILON);
+    }
+
+    @Test
+    void synthPlaysOnTheHapticChannelsAndRecordedOnEveryChannel() {
+        HapticMixer mixer = new HapticMixer(SAMPLE_RATE, 4, 2);
+        mixer.play(new float[] {0.1f, 0.2f, 0.3f, 0.4f});
+        mixer.play(SynthHaptic.builder()
+                .layer(SynthHaptic.Waveform.SQUARE, 0f, held(), 0.5f)
+                .build());
+
+        float[] out = new float[4];
+        mixer.render(out, 1);
+
+        assertArrayEquals(new float[] {0.1f, 0.2f, 0.8f, 0.9f}, out, EPSILON);
+    }
+
+    @Test
+    void panMovesTheLayerBetweenActuators() {
+        HapticMixer mixer = new HapticMixer(SAMPLE_RATE, 4, 2);
+        mixer.play(SynthHaptic.builder()
+                .layer(SynthHaptic.Waveform.SQUARE, 0f, 0f, held(), 0.5f, 1f)
+                .build());
+
+        float[] out = new float[4];
+        mixer.render(out, 1);
+
+        assertArrayEquals(new float[] {0f, 0f, 0f, 0.5f}, out, EPSILON);
+    }
+
+    @Test
+    void renderOverwritesTheOutput() {
+        HapticMixer mixer = new HapticMixer(SAMPLE_RATE, 2, 0);
+        float[] out = new float[4];
+        Arrays.fill(out, 0.7f);
+
+        mixer.render(out, 1);
+
+        assertArrayEquals(new float[] {0f, 0f, 0.7f, 0.7f}, out);
+    }
+
+    /**
+     * Full amplitude for a second, with no attack.
+     */
+    private static SynthHaptic.Envelope held() {
+        return new SynthHaptic.Envelope(0f, 0f, 1f, 1f, 0f);
+    }
+
+    private static float[] constant(float value, int channels, int frames) {
+        float[] samples = new float[channels * frames];
+        Arrays.fill(samples, value);
+        return samples;
+    }
+
+    private static void assertFrame(float[] out, int channels, int frame, float expected) {
+        for (int channel = 0; channel < channels; channel++) {
+            assertEquals(expected, out[frame * channels + channel], EPSILON, "Frame " + frame + ", channel " + channel);
+        }
+    }
+}
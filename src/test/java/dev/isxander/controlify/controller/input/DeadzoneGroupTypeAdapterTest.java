@@ -0,0 +1,47 @@
+package dev.isxander.controlify.controller.input;
+
+import dev.isxander.controlify.config.ControlifyConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadzoneGroupTypeAdapterTest {
+    private static final String STICK_AXES = """
+            ["controlify:axis/left_stick_up", "controlify:axis/left_stick_down", "controlify:axis/left_stick_left", "controlify:axis/left_stick_right"]
+            """;
+
+    @Test
+    void savedFourAxisGroupWithoutStickIsAStick() {
+        DeadzoneGroup group = parse("{\"name\": \"controlify:left_stick\", \"axes\": " + STICK_AXES + "}");
+
+        assertTrue(group.stick());
+        assertEquals(4, group.axes().size());
+    }
+
+    @Test
+    void savedGroupWithOtherAxisCountWithoutStickIsNotAStick() {
+        DeadzoneGroup group = parse("{\"name\": \"controlify:triggers\", \"axes\": [\"controlify:axis/left_trigger\", \"controlify:axis/right_trigger\"]}");
+
+        assertFalse(group.stick());
+    }
+
+    @Test
+    void savedStickFieldIsKept() {
+        DeadzoneGroup group = parse("{\"name\": \"controlify:four_axes\", \"axes\": " + STICK_AXES + ", \"stick\": false}");
+
+        assertFalse(group.stick());
+    }
+
+    @Test
+    void stickRoundTrips() {
+        DeadzoneGroup stick = GamepadInputs.DEADZONE_GROUPS.iterator().next();
+
+        DeadzoneGroup parsed = parse(ControlifyConfig.GSON.toJson(stick));
+
+        assertEquals(stick, parsed);
+    }
+
+    private static DeadzoneGroup parse(String json) {
+        return ControlifyConfig.GSON.fromJson(json, DeadzoneGroup.class);
+    }
+}
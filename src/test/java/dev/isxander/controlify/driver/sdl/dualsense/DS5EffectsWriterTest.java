@@ -0,0 +1,169 @@
+package dev.isxander.controlify.driver.sdl.dualsense;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DS5EffectsWriterTest {
+    private static final long START = 1_000_000_000L;
+    // longer than any field's rate limit
+    private static final long LATER = 1_000_000_000L;
+    private static final long TICK = 50_000_000L;
+
+    private RecordingDS5EffectsSink sink;
+    private DS5EffectsWriter writer;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        sink = new RecordingDS5EffectsSink();
+        writer = new DS5EffectsWriter(sink);
+        now = START;
+    }
+
+    @Test
+    void firstWriteSendsEveryField() {
+        assertFalse(writer.write(feedback(3), null, true, now));
+
+        RecordingDS5EffectsSink.Report report = single(sink.takeReports());
+        assertTrue(report.sendsLeftTrigger());
+        assertTrue(report.sendsRightTrigger());
+        assertTrue(report.sendsMuteLight());
+        assertArrayEquals(RecordingDS5EffectsSink.bytes(feedback(3)), report.leftTrigger());
+        assertArrayEquals(RecordingDS5EffectsSink.bytes(DualsenseTriggerEffects.off()), report.rightTrigger());
+        assertEquals(DS5EffectsState.MuteLightState.ON, report.muteLightMode());
+    }
+
+    @Test
+    void unchangedStateWritesNothing() {
+        writer.write(feedback(3), feedback(5), false, now);
+        sink.takeReports();
+
+        now += LATER;
+        // equal effects, but not the same instances
+        assertFalse(writer.write(feedback(3), feedback(5), false, now));
+        now += LATER;
+        assertFalse(writer.write(feedback(3), feedback(5), false, now));
+
+        assertEquals(List.of(), sink.takeReports());
+    }
+
+    @Test
+    void onlyChangedTriggerIsSent() {
+        writer.write(feedback(3), feedback(5), false, now);
+        sink.takeReports();
+
+        now += LATER;
+        writer.write(feedback(3), feedback(7), false, now);
+
+        RecordingDS5EffectsSink.Report report = single(sink.takeReports());
+        assertEquals(DS5EffectsState.EnableBitFlags1.ALLOW_RIGHT_TRIGGER_FFB, report.enableBits1());
+        assertEquals(0, report.enableBits2());
+        assertArrayEquals(RecordingDS5EffectsSink.bytes(feedback(7)), report.rightTrigger());
+    }
+
+    @Test
+    void onlyChangedMuteLightIsSent() {
+        writer.write(feedback(3), feedback(5), false, now);
+        sink.takeReports();
+
+        now += LATER;
+        writer.write(feedback(3), feedback(5), true, now);
+
+        RecordingDS5EffectsSink.Report report = single(sink.takeReports());
+        assertEquals(0, report.enableBits1());
+        assertEquals(DS5EffectsState.EnableBitFlags2.ALLOW_MUTE_LIGHT, report.enableBits2());
+        assertEquals(DS5EffectsState.MuteLightState.ON, report.muteLightMode());
+    }
+
+    @Test
+    void changeTooSoonIsHeldBackUntilTheRateLimitAllows() {
+        writer.write(feedback(3), null, false, now);
+        sink.takeReports();
+
+        now += 10_000_000L;
+        assertTrue(writer.write(feedback(4), null, false, now), "Change should be held back");
+        assertEquals(List.of(), sink.takeReports());
+
+        now += 40_000_000L;
+        assertFalse(writer.write(feedback(4), null, false, now));
+        RecordingDS5EffectsSink.Report report = single(sink.takeReports());
+        assertEquals(DS5EffectsState.EnableBitFlags1.ALLOW_LEFT_TRIGGER_FFB, report.enableBits1());
+        assertArrayEquals(RecordingDS5EffectsSink.bytes(feedback(4)), report.leftTrigger());
+    }
+
+    @Test
+    void failedSendIsRetried() {
+        writer.write(feedback(3), null, false, now);
+        sink.takeReports();
+
+        sink.setFailing(true);
+        now += LATER;
+        assertTrue(writer.write(feedback(4), null, false, now), "Failed send should be retried");
+        assertEquals(1, sink.takeReports().size());
+
+        // not every tick, only once the backoff has passed
+        for (int i = 0; i < 4; i++) {
+            now += TICK;
+            assertTrue(writer.write(feedback(4), null, false, now), "Failed send should still be retried");
+        }
+        assertEquals(List.of(), sink.takeReports());
+
+        now += TICK;
+        assertTrue(writer.write(feedback(4), null, false, now));
+        assertEquals(1, sink.takeReports().size());
+
+        // the backoff doubles after each failure in a row
+        now += 250_000_000L;
+        assertTrue(writer.write(feedback(4), null, false, now));
+        assertEquals(List.of(), sink.takeReports());
+
+        sink.setFailing(false);
+        now += 250_000_000L;
+        assertFalse(writer.write(feedback(4), null, false, now));
+        RecordingDS5EffectsSink.Report report = single(sink.takeReports());
+        assertEquals(DS5EffectsState.EnableBitFlags1.ALLOW_LEFT_TRIGGER_FFB, report.enableBits1());
+
+        now += LATER;
+        writer.write(feedback(4), null, false, now);
+        assertEquals(List.of(), sink.takeReports());
+    }
+
+    @Test
+    void successfulSendResetsTheBackoff() {
+        writer.write(feedback(3), null, false, now);
+        sink.takeReports();
+
+        sink.setFailing(true);
+        for (int i = 0; i < 3; i++) {
+            now += LATER;
+            writer.write(feedback(4), null, false, now);
+        }
+        sink.setFailing(false);
+        now += LATER;
+        writer.write(feedback(4), null, false, now);
+        sink.takeReports();
+
+        sink.setFailing(true);
+        now += LATER;
+        writer.write(feedback(5), null, false, now);
+        assertEquals(1, sink.takeReports().size());
+
+        // back to the first backoff, not the one the earlier failures had reached
+        now += 250_000_000L;
+        writer.write(feedback(5), null, false, now);
+        assertEquals(1, sink.takeReports().size());
+    }
+
+    private static DS5EffectsState.TriggerEffect feedback(int strength) {
+        return DualsenseTriggerEffects.feedback((byte) 2, (byte) strength);
+    }
+
+    private static RecordingDS5EffectsSink.Report single(List<RecordingDS5EffectsSink.Report> reports) {
+        assertEquals(1, reports.size(), "Expected exactly one report");
+        return reports.get(0);
+    }
+}
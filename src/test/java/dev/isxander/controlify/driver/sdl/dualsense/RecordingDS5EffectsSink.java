@@ -0,0 +1,63 @@
+package dev.isxander.controlify.driver.sdl.dualsense;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every report a {@link DS5EffectsWriter} sends, instead of sending it to a controller.
+ */
+final class RecordingDS5EffectsSink implements DS5EffectsWriter.Sink {
+    private final List<Report> reports = new ArrayList<>();
+    private boolean failing;
+
+    @Override
+    public boolean send(DS5EffectsState effects) {
+        // the writer reuses its struct, so the fields are copied out of it
+        reports.add(new Report(
+                effects.ucEnableBits1,
+                effects.ucEnableBits2,
+                bytes(effects.rgucLeftTriggerEffect),
+                bytes(effects.rgucRightTriggerEffect),
+                effects.ucMicLightMode
+        ));
+        return !failing;
+    }
+
+    /**
+     * Makes every send from now on fail, as if the controller was disconnected.
+     */
+    void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    /**
+     * @return the reports sent since this was last called
+     */
+    List<Report> takeReports() {
+        List<Report> taken = List.copyOf(reports);
+        reports.clear();
+        return taken;
+    }
+
+    static byte[] bytes(DS5EffectsState.TriggerEffect effect) {
+        return new byte[] {
+                effect.effectType,
+                effect.p0, effect.p1, effect.p2, effect.p3, effect.p4,
+                effect.p5, effect.p6, effect.p7, effect.p8, effect.p9,
+        };
+    }
+
+    record Report(byte enableBits1, byte enableBits2, byte[] leftTrigger, byte[] rightTrigger, byte muteLightMode) {
+        boolean sendsLeftTrigger() {
+            return (enableBits1 & DS5EffectsState.EnableBitFlags1.ALLOW_LEFT_TRIGGER_FFB) != 0;
+        }
+
+        boolean sendsRightTrigger() {
+            return (enableBits1 & DS5EffectsState.EnableBitFlags1.ALLOW_RIGHT_TRIGGER_FFB) != 0;
+        }
+
+        boolean sendsMuteLight() {
+            return (enableBits2 & DS5EffectsState.EnableBitFlags2.ALLOW_MUTE_LIGHT) != 0;
+        }
+    }
+}
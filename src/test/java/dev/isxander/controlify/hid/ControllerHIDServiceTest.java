@@ -0,0 +1,169 @@
+package dev.isxander.controlify.hid;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControllerHIDServiceTest {
+    private static final List<HIDDeviceInfo> OLD_DEVICES = devices("old", 3);
+    private static final List<HIDDeviceInfo> NEW_DEVICES = devices("new", 5);
+
+    private FakeHIDBackend backend;
+    private ControllerHIDService service;
+
+    @BeforeEach
+    void setUp() {
+        backend = new FakeHIDBackend();
+        service = new ControllerHIDService(backend);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void firstScanPublishesAttachedDevices() {
+        backend.setDevices(OLD_DEVICES);
+        service.start();
+        service.awaitFirstScan();
+
+        assertSnapshotOf(OLD_DEVICES, service.snapshot());
+    }
+
+    @Test
+    void invalidateCompletesWithDevicesAttachedAfterIt() throws Exception {
+        service.start();
+        service.awaitFirstScan();
+        assertSnapshotOf(List.of(), service.snapshot());
+
+        backend.attach(OLD_DEVICES.get(0));
+        HIDSnapshot snapshot = service.invalidate().get(5, TimeUnit.SECONDS);
+
+        assertSnapshotOf(List.of(OLD_DEVICES.get(0)), snapshot);
+        assertSame(snapshot, service.snapshot());
+
+        backend.detach(OLD_DEVICES.get(0).path());
+        assertSnapshotOf(List.of(), service.invalidate().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void lookupsDuringARescanSeeThePreviousSnapshot() throws Exception {
+        backend.setDevices(OLD_DEVICES);
+        service.start();
+        service.awaitFirstScan();
+        HIDSnapshot previous = service.snapshot();
+
+        CountDownLatch hold = backend.hold();
+        backend.setDevices(NEW_DEVICES);
+        CompletableFuture<HIDSnapshot> rescan = service.invalidate();
+        assertTrue(backend.awaitEnumeration(), "Rescan never started");
+
+        // the rescan has listed the new devices, but not finished
+        assertFalse(rescan.isDone());
+        assertSame(previous, service.snapshot());
+        assertSnapshotOf(OLD_DEVICES, service.snapshot());
+        assertTrue(service.snapshot().byPath(NEW_DEVICES.get(0).path()).isEmpty());
+
+        hold.countDown();
+        HIDSnapshot snapshot = rescan.get(5, TimeUnit.SECONDS);
+
+        assertSnapshotOf(NEW_DEVICES, snapshot);
+        assertSame(snapshot, service.snapshot());
+    }
+
+    @Test
+    void concurrentLookupsNeverSeeAPartialSnapshot() throws Exception {
+        service.start();
+        service.awaitFirstScan();
+
+        AtomicBoolean rescanning = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (rescanning.get()) {
+                    HIDSnapshot snapshot = service.snapshot();
+                    List<HIDDeviceInfo> devices = snapshot.devices();
+                    if (!devices.isEmpty() && !devices.equals(OLD_DEVICES) && !devices.equals(NEW_DEVICES)) {
+                        fail("Saw a partial device list " + devices);
+                    }
+                    assertSnapshotOf(devices, snapshot);
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        reader.start();
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                List<HIDDeviceInfo> devices = i % 2 == 0 ? NEW_DEVICES : OLD_DEVICES;
+                backend.setDevices(devices);
+                assertSnapshotOf(devices, service.invalidate().get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            rescanning.set(false);
+            reader.join();
+        }
+
+        if (failure.get() != null) {
+            fail("A lookup saw an inconsistent snapshot", failure.get());
+        }
+    }
+
+    @Test
+    void failedStartDisablesWithoutBlocking() throws Exception {
+        ControllerHIDService failing = new ControllerHIDService(new HIDBackend() {
+            @Override
+            public void start() {
+                throw new IllegalStateException("No HID access");
+            }
+
+            @Override
+            public List<HIDDeviceInfo> enumerate() {
+                return List.of();
+            }
+
+            @Override
+            public void stop() {
+            }
+        });
+        failing.start();
+
+        assertTrue(failing.isDisabled());
+        failing.awaitFirstScan();
+        assertSame(HIDSnapshot.EMPTY, failing.snapshot());
+        assertSame(HIDSnapshot.EMPTY, failing.invalidate().get(1, TimeUnit.SECONDS));
+    }
+
+    private static void assertSnapshotOf(List<HIDDeviceInfo> expected, HIDSnapshot snapshot) {
+        assertEquals(expected, snapshot.devices());
+        for (HIDDeviceInfo device : expected) {
+            assertEquals(Optional.of(device), snapshot.byPath(device.path()));
+            assertTrue(snapshot.byIdentifier(device.identifier()).contains(device));
+        }
+    }
+
+    private static List<HIDDeviceInfo> devices(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new HIDDeviceInfo(
+                        prefix + "-" + i,
+                        new HIDIdentifier(0x054C, 0x0CE6 + i),
+                        0x01,
+                        0x05,
+                        Optional.empty()
+                ))
+                .toList();
+    }
+}
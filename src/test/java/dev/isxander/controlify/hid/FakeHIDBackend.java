@@ -0,0 +1,80 @@
+package dev.isxander.controlify.hid;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A backend with no real devices, that lists whatever is attached to it.
+ * Enumerations can be held part way through, to look at the service whilst it is rescanning.
+ */
+final class FakeHIDBackend implements HIDBackend {
+    private volatile List<HIDDeviceInfo> devices = List.of();
+    private volatile CountDownLatch hold;
+    private final Semaphore enumerating = new Semaphore(0);
+
+    synchronized void attach(HIDDeviceInfo device) {
+        setDevices(concat(devices, device));
+    }
+
+    synchronized void detach(String path) {
+        setDevices(devices.stream().filter(device -> !device.path().equals(path)).toList());
+    }
+
+    /**
+     * Replaces every attached device at once.
+     */
+    void setDevices(List<HIDDeviceInfo> devices) {
+        this.devices = List.copyOf(devices);
+    }
+
+    /**
+     * Makes every enumeration from now on wait, after it has listed the devices, until the returned latch is released.
+     */
+    CountDownLatch hold() {
+        enumerating.drainPermits();
+        CountDownLatch hold = new CountDownLatch(1);
+        this.hold = hold;
+        return hold;
+    }
+
+    /**
+     * Waits for an enumeration to list the devices, since the last {@link #hold()}.
+     */
+    boolean awaitEnumeration() throws InterruptedException {
+        return enumerating.tryAcquire(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public List<HIDDeviceInfo> enumerate() {
+        List<HIDDeviceInfo> listed = devices;
+        enumerating.release();
+
+        CountDownLatch hold = this.hold;
+        if (hold != null) {
+            try {
+                hold.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return listed;
+    }
+
+    @Override
+    public void stop() {
+        setDevices(List.of());
+    }
+
+    private static List<HIDDeviceInfo> concat(List<HIDDeviceInfo> devices, HIDDeviceInfo device) {
+        HIDDeviceInfo[] all = devices.toArray(new HIDDeviceInfo[devices.size() + 1]);
+        all[devices.size()] = device;
+        return List.of(all);
+    }
+}